@@ -0,0 +1,46 @@
+package com.example.bench;
+
+import com.example.util.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Config lookups as the suite does them on every spec build: a key that falls through to
+ * config.properties, one that is missing everywhere, and one set as a system property.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dbench.sysprop=set")
+public class ConfigBenchmark {
+
+    @Benchmark
+    public String baseUrl() {
+        return Config.getBaseUrl();
+    }
+
+    @Benchmark
+    public String missingKey() {
+        return Config.get("bench.missing", "default");
+    }
+
+    @Benchmark
+    public String systemProperty() {
+        return Config.get("bench.sysprop", "default");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String baseUrlContended() {
+        return Config.getBaseUrl();
+    }
+}
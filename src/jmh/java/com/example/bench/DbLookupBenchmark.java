@@ -0,0 +1,96 @@
+package com.example.bench;
+
+import com.example.util.Db;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link Db} lookup queries against an in-memory H2 database in PostgreSQL mode, so the
+ * numbers show the query and JDBC overhead without a network round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DbLookupBenchmark {
+
+    private static final String SCHEMA = "public";
+
+    @Param({"10000"})
+    int rows;
+
+    @Param({"100"})
+    int batch;
+
+    private Connection conn;
+    private List<String> emails;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        try (Statement st = conn.createStatement()) {
+            st.execute("create table if not exists " + SCHEMA + ".customer "
+                + "(id varchar(36) primary key, name varchar(100), email varchar(255) unique, phone varchar(20))");
+            st.execute("truncate table " + SCHEMA + ".customer");
+        }
+        emails = new ArrayList<>(rows);
+        try (PreparedStatement ps = conn.prepareStatement("insert into " + SCHEMA + ".customer values (?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                String email = "bench" + i + "@example.test";
+                emails.add(email);
+                ps.setString(1, "id-" + i);
+                ps.setString(2, "Customer " + i);
+                ps.setString(3, email);
+                ps.setString(4, "+1555" + String.format("%07d", i));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Benchmark
+    public Optional<String> idByEmail() throws SQLException {
+        return Db.findCustomerIdByEmail(conn, SCHEMA, emails.get(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    @Benchmark
+    public Optional<String> nameById() throws SQLException {
+        return Db.findCustomerNameById(conn, SCHEMA, "id-" + ThreadLocalRandom.current().nextInt(rows));
+    }
+
+    @Benchmark
+    public Map<String, String> idsByEmails() throws SQLException {
+        int from = ThreadLocalRandom.current().nextInt(rows - batch);
+        return Db.findCustomerIdsByEmails(conn, SCHEMA, emails.subList(from, from + batch));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bench;
+
+import com.example.util.RandomData;
+import com.example.util.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the test-data generators, single-threaded and with 8 threads sharing the generator;
+ * {@code customers100} is per customer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomDataBenchmark {
+
+    @Benchmark
+    public String randomEmail() {
+        return RandomData.randomEmail();
+    }
+
+    @Benchmark
+    public String randomPhone() {
+        return RandomData.randomPhone();
+    }
+
+    @Benchmark
+    public String randomString10() {
+        return RandomData.randomString(10);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomEmailContended() {
+        return RandomData.randomEmail();
+    }
+
+    @Benchmark
+    public TestData.NewCustomer customer() {
+        return TestData.customer();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TestData.NewCustomer customerContended() {
+        return TestData.customer();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void customers100(Blackhole bh) {
+        TestData.customers(100).forEach(bh::consume);
+    }
+}
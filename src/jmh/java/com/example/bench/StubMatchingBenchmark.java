@@ -0,0 +1,88 @@
+package com.example.bench;
+
+import com.example.util.CustomerApiSimulator;
+import com.example.util.StubNamespace;
+import com.example.util.StubServer;
+import com.github.tomakehurst.wiremock.http.HttpHeader;
+import com.github.tomakehurst.wiremock.http.HttpHeaders;
+import com.github.tomakehurst.wiremock.http.RequestMethod;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stub lookup on the shared {@link StubServer} with {@code namespaces} test classes' worth of
+ * {@code urlPathMatching} simulator stubs registered. {@code matchAll} walks every mapping the
+ * way WireMock does for each request; {@code roundTrip} is a full call through a namespace's
+ * REST Assured spec, i.e. what a stubbed test pays per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dapi.timing=false")
+@State(Scope.Benchmark)
+public class StubMatchingBenchmark {
+
+    @Param({"10", "100"})
+    int namespaces;
+
+    private List<StubMapping> mappings;
+    private LoggedRequest request;
+    private RequestSpecification spec;
+    private String customerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubNamespace last = null;
+        CustomerApiSimulator.Customers customers = null;
+        for (int i = 0; i < namespaces; i++) {
+            last = StubServer.namespace("bench-" + i);
+            last.reset();
+            customers = last.simulateCustomerApi();
+        }
+        customerId = customers.seed("Bench", "bench@example.test", "+15550000000");
+        mappings = StubServer.get().getStubMappings();
+
+        // the last namespace registered is the worst case for a linear scan
+        String url = "/api/customers/" + customerId;
+        request = new LoggedRequest(url, "http://localhost" + url, RequestMethod.GET, "127.0.0.1",
+            new HttpHeaders(new HttpHeader(StubServer.NAMESPACE_HEADER, last.name())),
+            Collections.emptyMap(), false, new Date(), new byte[0], Collections.emptyList(), "HTTP/1.1");
+        spec = last.requestSpecification();
+    }
+
+    @Benchmark
+    public int matchAll() {
+        int matches = 0;
+        for (StubMapping mapping : mappings) {
+            if (mapping.getRequest().match(request).isExactMatch()) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int roundTrip() {
+        return RestAssured.given(spec).get("/api/customers/" + customerId).statusCode();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.load;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls {@code /actuator/health} and a set of {@code /actuator/metrics/<name>} gauges in the
+ * background while a soak runs. A metric the server does not expose (404) is dropped after its
+ * first poll; a health poll that is not {@code 200 UP} is kept as a failure.
+ */
+public final class ActuatorPoller implements AutoCloseable {
+
+    private static final int MAX_FAILURES_KEPT = 20;
+
+    /**
+     * A gauge value seen {@code seconds} after the poller started.
+     */
+    public record Sample(double seconds, double value) {}
+
+    private final RequestSpecification spec;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, List<Sample>> samples = new LinkedHashMap<>();
+    private final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+    private final List<String> healthFailures = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private int healthPolls;
+    private int healthDown;
+
+    public ActuatorPoller(RequestSpecification spec, List<String> metrics, Duration interval) {
+        this.spec = spec;
+        metrics.forEach(m -> samples.put(m, new ArrayList<>()));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "actuator-poller");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::poll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Samples per metric, in poll order; metrics the server does not expose are left out.
+     */
+    public synchronized Map<String, List<Sample>> samples() {
+        Map<String, List<Sample>> copy = new LinkedHashMap<>();
+        samples.forEach((name, list) -> {
+            if (!unavailable.contains(name)) {
+                copy.put(name, List.copyOf(list));
+            }
+        });
+        return copy;
+    }
+
+    public synchronized int healthPolls() {
+        return healthPolls;
+    }
+
+    public synchronized int healthDown() {
+        return healthDown;
+    }
+
+    public synchronized List<String> healthFailures() {
+        return List.copyOf(healthFailures);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void poll() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        pollHealth(seconds);
+        for (String metric : samples.keySet()) {
+            if (!unavailable.contains(metric)) {
+                pollMetric(metric, seconds);
+            }
+        }
+    }
+
+    private void pollHealth(double seconds) {
+        String failure;
+        try {
+            Response response = RestAssured.given(spec).get("/actuator/health");
+            String status = response.statusCode() == 200 ? response.path("status") : null;
+            failure = "UP".equals(status) ? null : "HTTP " + response.statusCode() + " " + response.asString();
+        } catch (RuntimeException e) {
+            failure = e.toString();
+        }
+        synchronized (this) {
+            healthPolls++;
+            if (failure != null) {
+                healthDown++;
+                if (healthFailures.size() < MAX_FAILURES_KEPT) {
+                    healthFailures.add(String.format("%.0fs: %s", seconds, failure));
+                }
+            }
+        }
+    }
+
+    private void pollMetric(String metric, double seconds) {
+        int query = metric.indexOf('?');
+        RequestSpecification request = RestAssured.given(spec);
+        if (query >= 0) {
+            // e.g. jvm.memory.used?tag=area:heap
+            for (String param : metric.substring(query + 1).split("&")) {
+                int eq = param.indexOf('=');
+                request.queryParam(param.substring(0, eq), param.substring(eq + 1));
+            }
+        }
+        try {
+            Response response = request.get("/actuator/metrics/{name}", query >= 0 ? metric.substring(0, query) : metric);
+            if (response.statusCode() == 404) {
+                unavailable.add(metric);
+                return;
+            }
+            if (response.statusCode() != 200) {
+                return;
+            }
+            Number value = value(response.path("measurements"));
+            if (value != null) {
+                synchronized (this) {
+                    samples.get(metric).add(new Sample(seconds, value.doubleValue()));
+                }
+            }
+        } catch (RuntimeException e) {
+            // a missed poll only thins out the series
+        }
+    }
+
+    // Spring Boot reports gauges as the VALUE statistic, counters as COUNT or TOTAL
+    private static Number value(List<Map<String, Object>> measurements) {
+        if (measurements == null || measurements.isEmpty()) {
+            return null;
+        }
+        for (Map<String, Object> m : measurements) {
+            if ("VALUE".equals(m.get("statistic"))) {
+                return (Number) m.get("value");
+            }
+        }
+        return (Number) measurements.get(0).get("value");
+    }
+}
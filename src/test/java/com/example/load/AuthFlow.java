@@ -0,0 +1,98 @@
+package com.example.load;
+
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The token checks from {@code SecurityAuthTest}: {@code DELETE /api/customers/{id}} with each of
+ * the given tokens, recorded per token as {@code auth.<token>} so a slow rejection path shows up
+ * on its own.
+ */
+public final class AuthFlow {
+
+    /**
+     * The bearer tokens the security stubs (and the test API) understand, with the statuses each may
+     * get. An admin DELETE of a customer that is already gone (404) still went through authorisation.
+     */
+    public enum Token {
+        NONE(null, 401),
+        USER("valid-user", 403),
+        ADMIN("valid-admin", 204, 404),
+        EXPIRED("expired", 401),
+        MALFORMED("malformed", 401);
+
+        private final String bearer;
+        private final int[] expectedStatus;
+
+        Token(String bearer, int... expectedStatus) {
+            this.bearer = bearer;
+            this.expectedStatus = expectedStatus;
+        }
+
+        public boolean accepted() {
+            return this == ADMIN;
+        }
+
+        public String endpoint() {
+            return "auth." + name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Every token that is refused; safe to loop against a real API.
+     */
+    public static final List<Token> REJECTED = List.of(Token.NONE, Token.USER, Token.EXPIRED, Token.MALFORMED);
+
+    private final RequestSpecification spec;
+    private final LatencyRecorder recorder;
+    private final String customerId;
+    private final List<Token> tokens;
+
+    public AuthFlow(RequestSpecification spec, LatencyRecorder recorder, String customerId, List<Token> tokens) {
+        this.spec = spec;
+        this.recorder = recorder;
+        this.customerId = customerId;
+        this.tokens = tokens;
+    }
+
+    /**
+     * Sends one DELETE per token; returns false as soon as one gets an unexpected status.
+     */
+    public boolean run() {
+        for (Token token : tokens) {
+            if (!call(token)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One DELETE per iteration: with {@link Token#ADMIN} for a {@code validShare} fraction of
+     * iterations, otherwise with one of this flow's tokens picked at random.
+     */
+    public BooleanSupplier mixed(double validShare) {
+        return () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return call(random.nextDouble() < validShare ? Token.ADMIN : tokens.get(random.nextInt(tokens.size())));
+        };
+    }
+
+    /**
+     * Sends a single DELETE with {@code token}; true if it got the expected status.
+     */
+    public boolean call(Token token) {
+        return recorder.timed(token.endpoint(), () -> {
+            RequestSpecification request = RestAssured.given(spec);
+            if (token.bearer != null) {
+                request.header("Authorization", "Bearer " + token.bearer);
+            }
+            return request.delete("/api/customers/{id}", customerId);
+        }, token.expectedStatus) != null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.load;
+
+import com.example.util.Config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Auth stress knobs, read through {@link Config}.
+ *
+ * @param users           concurrent virtual users ({@code auth.stress.users})
+ * @param targetRate      target requests per second across all users, 0 = as fast as possible ({@code auth.stress.rate})
+ * @param duration        how long to generate load ({@code auth.stress.duration}, e.g. {@code 60s})
+ * @param warmup          unrecorded warm-up before the measured phase ({@code auth.stress.warmup})
+ * @param validShare      fraction of requests sent with a valid admin token ({@code auth.stress.validShare})
+ * @param customerId      id every DELETE targets; keep it one that does not exist on a real API ({@code auth.stress.customerId})
+ * @param maxCostRatio    highest tolerated rejected-token p99 as a multiple of the valid-token p99 ({@code auth.stress.maxCostRatio})
+ * @param minDeltaMs      a rejection path is only flagged if it is also this much slower in absolute terms ({@code auth.stress.minDeltaMs})
+ * @param maxErrorRate    highest tolerated share of unexpected statuses per token ({@code auth.stress.maxErrorRate})
+ */
+public record AuthStressConfig(int users, double targetRate, Duration duration, Duration warmup, double validShare,
+                               String customerId, double maxCostRatio, double minDeltaMs, double maxErrorRate) {
+
+    public static AuthStressConfig fromConfig() {
+        return new AuthStressConfig(
+            Config.getInt("auth.stress.users", 16),
+            Config.getDouble("auth.stress.rate", 200),
+            Config.getDuration("auth.stress.duration", Duration.ofSeconds(30)),
+            Config.getDuration("auth.stress.warmup", Duration.ofSeconds(5)),
+            Config.getDouble("auth.stress.validShare", 0.5),
+            Config.get("auth.stress.customerId", "x1"),
+            Config.getDouble("auth.stress.maxCostRatio", 2.0),
+            Config.getDouble("auth.stress.minDeltaMs", 5),
+            Config.getDouble("auth.stress.maxErrorRate", 0.01));
+    }
+
+    public LoadConfig loadConfig() {
+        return new LoadConfig(users, targetRate, duration, warmup, maxErrorRate, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Error-rate breaches, plus every rejected token whose p99 exceeds {@code maxCostRatio} times
+     * the valid token's p99 by more than {@code minDeltaMs}: a rejection that costs more than a
+     * success lets unauthenticated clients load the service more cheaply than real ones.
+     */
+    public List<String> violations(LoadReport report) {
+        List<String> violations = new ArrayList<>(report.sloViolations(loadConfig()));
+        LatencyRecorder.EndpointStats valid = report.endpoints().get(AuthFlow.Token.ADMIN.endpoint());
+        if (valid == null || valid.count() == 0) {
+            violations.add("no valid-token requests recorded; raise auth.stress.validShare");
+            return violations;
+        }
+        for (AuthFlow.Token token : AuthFlow.Token.values()) {
+            LatencyRecorder.EndpointStats rejected = report.endpoints().get(token.endpoint());
+            if (token.accepted() || rejected == null) {
+                continue;
+            }
+            double budget = Math.max(maxCostRatio * valid.p99Ms(), valid.p99Ms() + minDeltaMs);
+            if (rejected.p99Ms() > budget) {
+                violations.add(String.format("%s p99 %.1f ms > %.1f ms allowed (%.1fx valid p99 %.1f ms, at least +%.0f ms)",
+                    token.endpoint(), rejected.p99Ms(), budget, maxCostRatio, valid.p99Ms(), minDeltaMs));
+            }
+        }
+        return violations;
+    }
+}
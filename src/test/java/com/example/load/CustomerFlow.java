@@ -0,0 +1,63 @@
+package com.example.load;
+
+import com.example.util.TestData;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The create -> get -> list -> update -> delete lifecycle from {@code CustomerCrudTest}, as one
+ * repeatable iteration that records each call's latency instead of asserting on it.
+ */
+public final class CustomerFlow {
+
+    public static final String CREATE = "create";
+    public static final String GET = "get";
+    public static final String LIST = "list";
+    public static final String UPDATE = "update";
+    public static final String DELETE = "delete";
+
+    private final RequestSpecification spec;
+    private final LatencyRecorder recorder;
+
+    public CustomerFlow(RequestSpecification spec, LatencyRecorder recorder) {
+        this.spec = spec;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Runs the lifecycle once; returns false as soon as a step fails.
+     */
+    public boolean run() {
+        Map<String, Object> customer = TestData.customer().asMap();
+
+        Response created = recorder.timed(CREATE, () -> RestAssured.given(spec)
+            .contentType(ContentType.JSON).body(customer)
+            .post("/api/customers"), 200, 201);
+        String id = created == null ? null : created.path("id");
+        if (id == null) {
+            return false;
+        }
+
+        if (recorder.timed(GET, () -> RestAssured.given(spec).get("/api/customers/{id}", id), 200) == null) {
+            return false;
+        }
+        if (recorder.timed(LIST, () -> RestAssured.given(spec).get("/api/customers"), 200) == null) {
+            return false;
+        }
+
+        Map<String, Object> update = new HashMap<>(customer);
+        update.put("name", customer.get("name") + " Updated");
+        if (recorder.timed(UPDATE, () -> RestAssured.given(spec)
+            .contentType(ContentType.JSON).body(update)
+            .put("/api/customers/{id}", id), 200) == null) {
+            return false;
+        }
+
+        return recorder.timed(DELETE, () -> RestAssured.given(spec).delete("/api/customers/{id}", id), 200, 204) != null;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.load;
+
+import io.restassured.response.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe per-endpoint latency histograms (microsecond resolution) plus error counts.
+ */
+public final class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long elapsedNanos, boolean success) {
+        Endpoint e = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        e.histogram.recordValue(Math.max(1, elapsedNanos / 1_000));
+        if (!success) {
+            e.errors.increment();
+        }
+    }
+
+    /**
+     * Runs {@code call} and records its latency under {@code endpoint}; returns the response, or
+     * {@code null} if the call threw or answered with a status other than {@code expectedStatus}.
+     */
+    public Response timed(String endpoint, Supplier<Response> call, int... expectedStatus) {
+        long start = System.nanoTime();
+        try {
+            Response response = call.get();
+            boolean ok = isExpected(response.statusCode(), expectedStatus);
+            record(endpoint, System.nanoTime() - start, ok);
+            return ok ? response : null;
+        } catch (Exception e) {
+            // REST Assured rethrows I/O errors such as connection resets without declaring them
+            record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    /**
+     * Forgets everything recorded so far, e.g. after a warm-up phase.
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Current figures per endpoint, sorted by name.
+     */
+    public Map<String, EndpointStats> snapshot() {
+        Map<String, EndpointStats> stats = new TreeMap<>();
+        endpoints.forEach((name, e) -> {
+            Histogram h = e.histogram.copy();
+            stats.put(name, new EndpointStats(
+                h.getTotalCount(),
+                e.errors.sum(),
+                h.getValueAtPercentile(50) / 1000.0,
+                h.getValueAtPercentile(90) / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0,
+                h.getValueAtPercentile(99.9) / 1000.0,
+                h.getMaxValue() / 1000.0));
+        });
+        return stats;
+    }
+
+    private static boolean isExpected(int status, int... expected) {
+        for (int e : expected) {
+            if (e == status) return true;
+        }
+        return false;
+    }
+
+    private static final class Endpoint {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    public record EndpointStats(long count, long errors, double p50Ms, double p90Ms,
+                                double p99Ms, double p999Ms, double maxMs) {
+
+        public double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.load;
+
+import com.example.util.Config;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Load-test knobs, read through {@link Config} so they can come from -D, env or config.properties.
+ *
+ * @param users          concurrent virtual users ({@code load.users})
+ * @param targetRate     target flows per second across all users, 0 = as fast as possible ({@code load.rate})
+ * @param duration       how long to generate load ({@code load.durationSeconds}, seconds or e.g. {@code 2m})
+ * @param warmup         unrecorded warm-up before the measured phase ({@code load.warmupSeconds})
+ * @param maxErrorRate   SLO: highest tolerated share of failed requests per endpoint ({@code load.slo.maxErrorRate})
+ * @param minThroughput  SLO: lowest tolerated completed flows per second ({@code load.slo.minThroughput})
+ * @param p99Ms          SLO: default p99 latency budget per endpoint ({@code load.slo.p99Ms}),
+ *                       overridable per endpoint with {@code load.slo.p99Ms.<endpoint>}
+ */
+public record LoadConfig(int users, double targetRate, Duration duration, Duration warmup,
+                         double maxErrorRate, double minThroughput, long p99Ms) {
+
+    public static LoadConfig fromConfig() {
+        return new LoadConfig(
+            Config.getInt("load.users", 8),
+            Config.getDouble("load.rate", 20),
+            Config.getDuration("load.durationSeconds", Duration.ofSeconds(30), ChronoUnit.SECONDS),
+            Config.getDuration("load.warmupSeconds", Duration.ofSeconds(5), ChronoUnit.SECONDS),
+            Config.getDouble("load.slo.maxErrorRate", 0.01),
+            Config.getDouble("load.slo.minThroughput", 0),
+            Config.getLong("load.slo.p99Ms", 1000));
+    }
+
+    public long p99MsFor(String endpoint) {
+        return Config.getLong("load.slo.p99Ms." + endpoint, p99Ms);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a {@link LoadRunner} run: per-endpoint latency percentiles, throughput and SLO checks.
+ */
+public record LoadReport(Map<String, LatencyRecorder.EndpointStats> endpoints,
+                         long iterations, long failedIterations, Duration elapsed) {
+
+    public double throughput() {
+        return iterations / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+    }
+
+    public double requestsPerSecond() {
+        long requests = endpoints.entrySet().stream()
+            .filter(e -> !LoadRunner.ITERATION.equals(e.getKey()))
+            .mapToLong(e -> e.getValue().count())
+            .sum();
+        return requests / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+    }
+
+    /**
+     * Human-readable breaches of the configured SLOs; empty when the run is within budget.
+     */
+    public List<String> sloViolations(LoadConfig config) {
+        List<String> violations = new ArrayList<>();
+        endpoints.forEach((name, stats) -> {
+            if (LoadRunner.ITERATION.equals(name)) {
+                return;
+            }
+            long p99Budget = config.p99MsFor(name);
+            if (stats.p99Ms() > p99Budget) {
+                violations.add(String.format("%s p99 %.1f ms > %d ms", name, stats.p99Ms(), p99Budget));
+            }
+            if (stats.errorRate() > config.maxErrorRate()) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%%", name, stats.errorRate() * 100, config.maxErrorRate() * 100));
+            }
+        });
+        if (throughput() < config.minThroughput()) {
+            violations.add(String.format("throughput %.1f/s < %.1f/s", throughput(), config.minThroughput()));
+        }
+        return violations;
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Load run: %d iterations (%d failed) in %.1f s -> %.1f iterations/s, %.1f req/s%n",
+            iterations, failedIterations, elapsed.toMillis() / 1000.0, throughput(), requestsPerSecond()));
+        sb.append(String.format("%-14s %8s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        endpoints.forEach((name, s) -> sb.append(String.format("%-14s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+            name, s.count(), s.errors(), s.p50Ms(), s.p90Ms(), s.p99Ms(), s.p999Ms(), s.maxMs())));
+        return sb.toString();
+    }
+
+    public void writeTo(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, format(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Could not write load report " + file + ": " + e.getMessage());
+        }
+    }
+}
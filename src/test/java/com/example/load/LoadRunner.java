@@ -0,0 +1,92 @@
+package com.example.load;
+
+import com.example.util.VirtualThreads;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Drives an iteration from {@code users} concurrent workers at an open-model target rate.
+ * Iterations are scheduled on fixed slots ({@code start + n / rate}); the time from the intended
+ * slot to completion is recorded as {@value #ITERATION} so a stalled server cannot hide its queueing
+ * delay (coordinated omission). A warm-up phase runs first and its samples are discarded.
+ */
+public final class LoadRunner {
+
+    public static final String ITERATION = "iteration";
+
+    private LoadRunner() {}
+
+    public static LoadReport run(LoadConfig config, LatencyRecorder recorder, BooleanSupplier iteration) {
+        ExecutorService executor = VirtualThreads.newExecutor("load", config.users());
+        try {
+            if (!config.warmup().isZero()) {
+                drive(executor, config, config.warmup(), recorder, iteration);
+                recorder.reset();
+            }
+            long start = System.nanoTime();
+            long[] counts = drive(executor, config, config.duration(), recorder, iteration);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            return new LoadReport(recorder.snapshot(), counts[0], counts[1], elapsed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the workers for one phase and returns {completed, failed} iterations.
+     */
+    private static long[] drive(ExecutorService executor, LoadConfig config, Duration duration,
+                                LatencyRecorder recorder, BooleanSupplier iteration) {
+        long intervalNanos = config.targetRate() > 0 ? (long) (1_000_000_000L / config.targetRate()) : 0;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicLong nextSlot = new AtomicLong();
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < config.users(); i++) {
+                workers.add(executor.submit(() -> {
+                    while (true) {
+                        long intended = intervalNanos == 0 ? System.nanoTime() : start + nextSlot.getAndIncrement() * intervalNanos;
+                        // stop at the end of the phase even if the server fell behind the schedule
+                        if (intended >= end || System.nanoTime() >= end) {
+                            return null;
+                        }
+                        sleepUntil(intended);
+                        boolean ok = iteration.getAsBoolean();
+                        recorder.record(ITERATION, System.nanoTime() - intended, ok);
+                        completed.increment();
+                        if (!ok) {
+                            failed.increment();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load run interrupted", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Load worker failed", e);
+        }
+        return new long[] {completed.sum(), failed.sum()};
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
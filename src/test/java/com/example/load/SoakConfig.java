@@ -0,0 +1,54 @@
+package com.example.load;
+
+import com.example.util.Config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Soak-run knobs, read through {@link Config}. Durations accept {@code 90s}, {@code 30m}, {@code 8h}.
+ *
+ * @param users           concurrent virtual users ({@code soak.users})
+ * @param targetRate      target iterations per second across all users ({@code soak.rate})
+ * @param duration        total measured time ({@code soak.duration})
+ * @param warmup          unrecorded warm-up before the first window ({@code soak.warmup})
+ * @param window          length of one measurement window; trends are computed over windows ({@code soak.window})
+ * @param pollInterval    how often actuator health and metrics are polled ({@code soak.pollInterval})
+ * @param metrics         actuator metrics to watch, {@code name} or {@code name?tag=key:value} ({@code soak.metrics})
+ * @param alpha           significance level of the Mann-Kendall trend test ({@code soak.alpha})
+ * @param maxLatencyCreep highest tolerated fitted p50/p99 growth over the run, as a fraction ({@code soak.maxLatencyCreep})
+ * @param maxGrowth       highest tolerated fitted growth of a metric's per-window floor ({@code soak.maxGrowth})
+ * @param maxErrorRate    highest tolerated share of failed iterations, and of failed calls per endpoint, in any
+ *                        window ({@code soak.maxErrorRate})
+ */
+public record SoakConfig(int users, double targetRate, Duration duration, Duration warmup, Duration window,
+                         Duration pollInterval, List<String> metrics, double alpha,
+                         double maxLatencyCreep, double maxGrowth, double maxErrorRate) {
+
+    private static final String DEFAULT_METRICS =
+        "jvm.memory.used?tag=area:heap,jvm.threads.live,hikaricp.connections.active,hikaricp.connections.pending,process.files.open";
+
+    public static SoakConfig fromConfig() {
+        return new SoakConfig(
+            Config.getInt("soak.users", 4),
+            Config.getDouble("soak.rate", 10),
+            Config.getDuration("soak.duration", Duration.ofMinutes(30)),
+            Config.getDuration("soak.warmup", Duration.ofMinutes(1)),
+            Config.getDuration("soak.window", Duration.ofMinutes(1)),
+            Config.getDuration("soak.pollInterval", Duration.ofSeconds(10)),
+            Arrays.stream(Config.get("soak.metrics", DEFAULT_METRICS).split(","))
+                .map(String::trim).filter(m -> !m.isEmpty()).toList(),
+            Config.getDouble("soak.alpha", 0.01),
+            Config.getDouble("soak.maxLatencyCreep", 0.25),
+            Config.getDouble("soak.maxGrowth", 0.2),
+            Config.getDouble("soak.maxErrorRate", 0.01));
+    }
+
+    /**
+     * One window as a {@link LoadRunner} phase; only the first one warms up.
+     */
+    LoadConfig windowConfig(boolean first) {
+        return new LoadConfig(users, targetRate, window, first ? warmup : Duration.ZERO, maxErrorRate, 0, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.load;
+
+import com.example.util.Trend;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Result of a {@link SoakRunner} run and its trend checks. Each endpoint's p50, p99 and error rate
+ * are tracked per window (the {@code iteration} error rate is the share of failed iterations); each
+ * actuator metric by its lowest value per window, which follows what is retained (e.g. heap after
+ * collection) rather than the sawtooth in between. A series is flagged when a Mann-Kendall test
+ * finds it increasing ({@code p < soak.alpha}) and its Theil-Sen fit grew by more than
+ * {@code soak.maxLatencyCreep} (latency) or {@code soak.maxGrowth} (error rates, metrics) over the
+ * run. Independently of any trend, a window whose error rate exceeds {@code soak.maxErrorRate} is
+ * flagged.
+ */
+public record SoakReport(List<Window> windows, Map<String, List<ActuatorPoller.Sample>> metrics,
+                         int healthPolls, int healthDown, List<String> healthFailures) {
+
+    // with fewer windows even a perfectly monotonic series cannot reach p < 0.01
+    private static final int MIN_WINDOWS_FOR_TRENDS = 8;
+
+    /**
+     * One measurement window, in seconds since the soak started.
+     */
+    public record Window(double fromSeconds, double toSeconds, LoadReport load) {
+
+        @Override
+        public String toString() {
+            LatencyRecorder.EndpointStats iteration = load.endpoints().get(LoadRunner.ITERATION);
+            return String.format("Soak window %.0f-%.0fs: %d iterations (%d failed), %.1f req/s, iteration p99 %.1f ms",
+                fromSeconds, toSeconds, load.iterations(), load.failedIterations(), load.requestsPerSecond(),
+                iteration == null ? 0 : iteration.p99Ms());
+        }
+    }
+
+    public enum Kind {
+        LATENCY("latency creep", "creep"),
+        ERRORS("error growth", "growth"),
+        METRIC("monotonic growth", "growth");
+
+        private final String finding;
+        private final String flag;
+
+        Kind(String finding, String flag) {
+            this.finding = finding;
+            this.flag = flag;
+        }
+    }
+
+    /**
+     * One tracked series: window midpoints (seconds), values, and their trend.
+     */
+    public record Series(String name, Kind kind, double[] seconds, double[] values, Trend.Result trend) {
+
+        boolean flagged(SoakConfig config) {
+            return trend.increasing(config.alpha(), kind == Kind.LATENCY ? config.maxLatencyCreep() : config.maxGrowth());
+        }
+    }
+
+    public List<Series> series() {
+        List<Series> series = new ArrayList<>();
+        Set<String> endpoints = new LinkedHashSet<>();
+        windows.forEach(w -> endpoints.addAll(w.load().endpoints().keySet()));
+        for (String endpoint : endpoints) {
+            series.add(latencySeries(endpoint, "p50", LatencyRecorder.EndpointStats::p50Ms));
+            series.add(latencySeries(endpoint, "p99", LatencyRecorder.EndpointStats::p99Ms));
+            series.add(errorSeries(endpoint));
+        }
+        metrics.forEach((name, samples) -> series.add(metricSeries(name, samples)));
+        return series;
+    }
+
+    /**
+     * Human-readable error, leak and creep findings; empty when every window stayed within
+     * {@code soak.maxErrorRate}, nothing trends upwards and health stayed UP.
+     */
+    public List<String> findings(SoakConfig config) {
+        List<String> findings = new ArrayList<>(errorRateFindings(config));
+        for (Series s : series()) {
+            if (s.flagged(config)) {
+                findings.add(String.format("%s %s: %s -> %s (%+.0f%%, Mann-Kendall p=%.4f)", s.kind().finding, s.name(),
+                    human(s.trend().start()), human(s.trend().end()), s.trend().relativeChange() * 100, s.trend().p()));
+            }
+        }
+        if (healthDown > 0) {
+            findings.add(String.format("health: %d of %d polls not UP, first: %s", healthDown, healthPolls,
+                healthFailures.isEmpty() ? "?" : healthFailures.get(0)));
+        }
+        return findings;
+    }
+
+    public String format(SoakConfig config) {
+        StringBuilder sb = new StringBuilder();
+        long iterations = windows.stream().mapToLong(w -> w.load().iterations()).sum();
+        long failed = windows.stream().mapToLong(w -> w.load().failedIterations()).sum();
+        double seconds = windows.isEmpty() ? 0 : windows.get(windows.size() - 1).toSeconds() - windows.get(0).fromSeconds();
+        sb.append(String.format("Soak run: %d windows over %.1f min, %d iterations (%d failed); health %d/%d polls UP%n",
+            windows.size(), seconds / 60, iterations, failed, healthPolls - healthDown, healthPolls));
+        if (windows.size() < MIN_WINDOWS_FOR_TRENDS) {
+            sb.append(String.format("Only %d windows: trend checks need at least %d to flag anything (shorten soak.window)%n",
+                windows.size(), MIN_WINDOWS_FOR_TRENDS));
+        }
+        sb.append(String.format("%-40s %4s %10s %10s %8s %8s%n", "series (fitted)", "n", "start", "end", "change", "p"));
+        for (Series s : series()) {
+            sb.append(String.format("%-40s %4d %10s %10s %7.0f%% %8.4f%s%n", s.name(), s.trend().n(),
+                human(s.trend().start()), human(s.trend().end()), s.trend().relativeChange() * 100, s.trend().p(),
+                s.flagged(config) ? "  <-- " + s.kind().flag : ""));
+        }
+        List<String> findings = findings(config);
+        if (!findings.isEmpty()) {
+            sb.append("Findings:").append(System.lineSeparator());
+            findings.forEach(f -> sb.append("  ").append(f).append(System.lineSeparator()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the summary to {@code soak-report.txt} and every window value to {@code soak-windows.csv}
+     * (for plotting) in {@code dir}.
+     */
+    public void writeTo(Path dir, SoakConfig config) {
+        StringBuilder csv = new StringBuilder("series,seconds,value\n");
+        for (Series s : series()) {
+            for (int i = 0; i < s.values().length; i++) {
+                csv.append(s.name()).append(',').append(String.format("%.1f,%.3f%n", s.seconds()[i], s.values()[i]));
+            }
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("soak-report.txt"), format(config), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("soak-windows.csv"), csv, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Could not write soak report to " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private Series latencySeries(String endpoint, String percentile,
+                                 ToDoubleFunction<LatencyRecorder.EndpointStats> value) {
+        List<double[]> points = new ArrayList<>();
+        for (Window w : windows) {
+            LatencyRecorder.EndpointStats stats = w.load().endpoints().get(endpoint);
+            if (stats != null && stats.count() > 0) {
+                points.add(new double[] {(w.fromSeconds() + w.toSeconds()) / 2, value.applyAsDouble(stats)});
+            }
+        }
+        return series(endpoint + " " + percentile + " ms", Kind.LATENCY, points);
+    }
+
+    private Series errorSeries(String endpoint) {
+        List<double[]> points = new ArrayList<>();
+        for (Window w : windows) {
+            LatencyRecorder.EndpointStats stats = w.load().endpoints().get(endpoint);
+            if (stats != null && stats.count() > 0) {
+                points.add(new double[] {(w.fromSeconds() + w.toSeconds()) / 2, stats.errorRate() * 100});
+            }
+        }
+        return series(endpoint + " error %", Kind.ERRORS, points);
+    }
+
+    /**
+     * One finding per endpoint (and for failed iterations) that went over {@code soak.maxErrorRate}
+     * in at least one window.
+     */
+    private List<String> errorRateFindings(SoakConfig config) {
+        List<String> findings = new ArrayList<>();
+        Set<String> endpoints = new LinkedHashSet<>();
+        windows.forEach(w -> endpoints.addAll(w.load().endpoints().keySet()));
+        for (String endpoint : endpoints) {
+            int over = 0;
+            int measured = 0;
+            Window worst = null;
+            double worstRate = 0;
+            for (Window w : windows) {
+                LatencyRecorder.EndpointStats stats = w.load().endpoints().get(endpoint);
+                if (stats == null || stats.count() == 0) {
+                    continue;
+                }
+                measured++;
+                if (stats.errorRate() > config.maxErrorRate()) {
+                    over++;
+                    if (stats.errorRate() > worstRate) {
+                        worstRate = stats.errorRate();
+                        worst = w;
+                    }
+                }
+            }
+            if (worst != null) {
+                findings.add(String.format("%s above %.2f%% in %d of %d windows, worst %.2f%% at %.0f-%.0fs",
+                    LoadRunner.ITERATION.equals(endpoint) ? "failed iterations" : endpoint + " errors",
+                    config.maxErrorRate() * 100, over, measured, worstRate * 100, worst.fromSeconds(), worst.toSeconds()));
+            }
+        }
+        return findings;
+    }
+
+    private Series metricSeries(String metric, List<ActuatorPoller.Sample> samples) {
+        List<double[]> points = new ArrayList<>();
+        for (Window w : windows) {
+            double floor = Double.NaN;
+            for (ActuatorPoller.Sample sample : samples) {
+                if (sample.seconds() >= w.fromSeconds() && sample.seconds() < w.toSeconds()
+                    && (Double.isNaN(floor) || sample.value() < floor)) {
+                    floor = sample.value();
+                }
+            }
+            if (!Double.isNaN(floor)) {
+                points.add(new double[] {(w.fromSeconds() + w.toSeconds()) / 2, floor});
+            }
+        }
+        return series(metric + " floor", Kind.METRIC, points);
+    }
+
+    private static Series series(String name, Kind kind, List<double[]> points) {
+        double[] seconds = points.stream().mapToDouble(p -> p[0]).toArray();
+        double[] values = points.stream().mapToDouble(p -> p[1]).toArray();
+        return new Series(name, kind, seconds, values, Trend.of(seconds, values));
+    }
+
+    private static String human(double value) {
+        double abs = Math.abs(value);
+        if (abs >= 1e9) return String.format("%.2fG", value / 1e9);
+        if (abs >= 1e6) return String.format("%.1fM", value / 1e6);
+        if (abs >= 1e4) return String.format("%.1fk", value / 1e3);
+        return String.format("%.1f", value);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.load;
+
+import io.restassured.specification.RequestSpecification;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Loops a scenario for {@code soak.duration} as back-to-back {@link LoadRunner} windows, each with
+ * its own fresh {@link LatencyRecorder}, while an {@link ActuatorPoller} watches health and metrics.
+ * The resulting {@link SoakReport} holds one latency snapshot per window, which is what the trend
+ * checks run on.
+ */
+public final class SoakRunner {
+
+    private SoakRunner() {}
+
+    /**
+     * @param actuator  spec for the service's actuator endpoints
+     * @param iteration builds the iteration for one window from that window's recorder
+     */
+    public static SoakReport run(SoakConfig config, RequestSpecification actuator,
+                                 Function<LatencyRecorder, BooleanSupplier> iteration) {
+        List<SoakReport.Window> windows = new ArrayList<>();
+        try (ActuatorPoller poller = new ActuatorPoller(actuator, config.metrics(), config.pollInterval())) {
+            long origin = System.nanoTime();
+            Duration measured = Duration.ZERO;
+            while (measured.compareTo(config.duration()) < 0) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                LoadReport load = LoadRunner.run(config.windowConfig(windows.isEmpty()), recorder, iteration.apply(recorder));
+                double to = (System.nanoTime() - origin) / 1e9;
+                SoakReport.Window window = new SoakReport.Window(to - load.elapsed().toNanos() / 1e9, to, load);
+                windows.add(window);
+                measured = measured.plus(load.elapsed());
+                System.out.println(window);
+            }
+            return new SoakReport(windows, poller.samples(), poller.healthPolls(), poller.healthDown(), poller.healthFailures());
+        }
+    }
+
+    /**
+     * Runs the given scenarios in turn, one per iteration, across all workers.
+     */
+    public static BooleanSupplier roundRobin(BooleanSupplier... scenarios) {
+        AtomicLong next = new AtomicLong();
+        return () -> scenarios[(int) (next.getAndIncrement() % scenarios.length)].getAsBoolean();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.load;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.Map;
+
+/**
+ * The rejection paths from {@code CustomerValidationTest} (400 for a missing name and for bad
+ * formats, 404 for an unknown id) as one repeatable iteration. Nothing is written, so it can loop
+ * against a real API indefinitely.
+ */
+public final class ValidationFlow {
+
+    public static final String CREATE_MISSING_NAME = "create.noName";
+    public static final String CREATE_BAD_FORMAT = "create.badFmt";
+    public static final String GET_UNKNOWN = "get.unknown";
+
+    private static final Map<String, Object> MISSING_NAME = Map.of("email", "bad@example", "phone", "+10000000000");
+    private static final Map<String, Object> BAD_FORMATS = Map.of("name", "Bad Formats", "email", "not-an-email", "phone", "12345");
+
+    private final RequestSpecification spec;
+    private final LatencyRecorder recorder;
+
+    public ValidationFlow(RequestSpecification spec, LatencyRecorder recorder) {
+        this.spec = spec;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Runs the three rejections once; returns false as soon as one is not rejected as expected.
+     */
+    public boolean run() {
+        if (recorder.timed(CREATE_MISSING_NAME, () -> RestAssured.given(spec)
+            .contentType(ContentType.JSON).body(MISSING_NAME)
+            .post("/api/customers"), 400) == null) {
+            return false;
+        }
+        if (recorder.timed(CREATE_BAD_FORMAT, () -> RestAssured.given(spec)
+            .contentType(ContentType.JSON).body(BAD_FORMATS)
+            .post("/api/customers"), 400) == null) {
+            return false;
+        }
+        return recorder.timed(GET_UNKNOWN, () -> RestAssured.given(spec).get("/api/customers/{id}", "does-not-exist"), 404) != null;
+    }
+}
@@ -1,9 +1,10 @@
 package com.example.tests;
 
+import com.example.util.Api;
 import com.example.util.Config;
-import com.github.tomakehurst.wiremock.WireMockServer;
-import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
-import com.github.tomakehurst.wiremock.extension.responsetemplating.ResponseTemplateTransformer;
+import com.example.util.OpenApiSpecs;
+import com.example.util.StubNamespace;
+import com.example.util.StubServerExtension;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -13,71 +14,54 @@ import io.qameta.allure.Story;
 import io.restassured.RestAssured;
 import io.restassured.filter.Filter;
 import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.*;
-import com.atlassian.oai.validator.restassured.OpenApiValidationFilter;
+import org.junit.jupiter.api.extension.ExtendWith;
 
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
-import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
-import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
 import static org.hamcrest.Matchers.*;
 
 @Epic("API Contract Validation")
 @Feature("OpenAPI Contract Testing")
+@ExtendWith(StubServerExtension.class)
 public class ContractTest {
 
-    private static WireMockServer wireMock;
+    private static StubNamespace stubs;
     private static String baseUrl;
+    private static RequestSpecification spec;
     private static Filter openApi;
 
     @BeforeAll
-    static void setUpAll() {
+    static void setUpAll(StubNamespace namespace) {
         baseUrl = Config.getBaseUrl();
         if (baseUrl == null || baseUrl.isBlank()) {
-            wireMock = new WireMockServer(
-                WireMockConfiguration.options()
-                    .dynamicPort()
-                    .extensions(new ResponseTemplateTransformer(true))
-            );
-            wireMock.start();
-            String openApiJson;
-            try {
-                openApiJson = new String(ContractTest.class.getResourceAsStream("/openapi.json").readAllBytes(), StandardCharsets.UTF_8);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to load openapi.json from classpath", e);
-            }
+            stubs = namespace;
             // serve openapi
-            wireMock.stubFor(get(urlEqualTo("/v3/api-docs"))
-                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody(openApiJson)));
+            stubs.stubFor(get(urlEqualTo("/v3/api-docs"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody(OpenApiSpecs.classpathSpec())));
 
             // basic stubs to satisfy contract checks
-            wireMock.stubFor(get(urlEqualTo("/actuator/health"))
+            stubs.stubFor(get(urlEqualTo("/actuator/health"))
                 .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody("{\"status\":\"UP\"}")));
-            wireMock.stubFor(get(urlEqualTo("/api/customers"))
-                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody("[]")));
-            wireMock.stubFor(post(urlEqualTo("/api/customers"))
-                .willReturn(aResponse().withStatus(201).withHeader("Content-Type", "application/json").withBody("{\"id\":\"x\",\"name\":\"N\",\"email\":\"a@b.c\",\"phone\":\"+10000000000\"}")));
-            wireMock.stubFor(get(urlPathMatching("/api/customers/.+"))
-                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody("{\"id\":\"x\",\"name\":\"N\",\"email\":\"a@b.c\",\"phone\":\"+10000000000\"}")));
-
-            baseUrl = "http://localhost:" + wireMock.port();
+            stubs.simulateCustomerApi();
+            // recorded real traffic (RecordingFilter), if any, takes precedence over the canned bodies
+            stubs.replayRecorded();
+
+            baseUrl = stubs.baseUrl();
+            // stubbed: validate against the same spec we serve, parsed once per JVM
+            openApi = OpenApiSpecs.classpathFilter();
+        } else {
+            // load OpenAPI from the running server's /v3/api-docs (parsed once per JVM, keyed by content)
+            openApi = OpenApiSpecs.filterForUrl(baseUrl + "/v3/api-docs");
         }
-        RestAssured.baseURI = baseUrl;
-
-        // load OpenAPI from the running server's /v3/api-docs
-        String specUrl = baseUrl + "/v3/api-docs";
-        openApi = new OpenApiValidationFilter(specUrl);
-    }
-
-    @AfterAll
-    static void tearDownAll() {
-        if (wireMock != null) wireMock.stop();
+        spec = stubs != null ? stubs.requestSpecification() : Api.spec(baseUrl);
     }
 
     @Test
@@ -85,7 +69,7 @@ public class ContractTest {
     @Severity(SeverityLevel.BLOCKER)
     @Description("Validate that health endpoint response matches OpenAPI specification exactly")
     void healthContract() {
-        RestAssured.given().filter(openApi)
+        RestAssured.given(spec).filter(openApi)
             .when().get("/actuator/health")
             .then().statusCode(200).body("status", equalTo("UP"));
     }
@@ -95,9 +79,13 @@ public class ContractTest {
     @Severity(SeverityLevel.CRITICAL)
     @Description("Validate that GET /api/customers response structure matches OpenAPI contract")
     void listCustomersContract() {
-        RestAssured.given().filter(openApi)
+        // the whole operation (status, content type, array of Customer) is the contract; a wrapped
+        // {"items": [...]} page must fail here even though StreamingListVerifier would accept it
+        RestAssured.given(spec).filter(openApi)
             .when().get("/api/customers")
-            .then().statusCode(200).body("size()", greaterThanOrEqualTo(0));
+            .then().statusCode(200)
+            .contentType(ContentType.JSON)
+            .body("$", instanceOf(List.class));
     }
 
     @Test
@@ -110,7 +98,7 @@ public class ContractTest {
         payload.put("email", "a@b.c");
         payload.put("phone", "+10000000000");
 
-        RestAssured.given().filter(openApi)
+        RestAssured.given(spec).filter(openApi)
             .contentType(ContentType.JSON).body(payload)
             .when().post("/api/customers")
             .then().statusCode(anyOf(is(201), is(200)))
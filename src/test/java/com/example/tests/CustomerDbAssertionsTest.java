@@ -1,75 +1,69 @@
 package com.example.tests;
 
+import com.example.util.Api;
 import com.example.util.Config;
+import com.example.util.CustomerApiClient;
+import com.example.util.CustomerFixtures;
 import com.example.util.Db;
+import com.example.util.DbCleanup;
+import com.example.util.DbCleanupExtension;
 import com.example.util.RandomData;
-import com.github.tomakehurst.wiremock.WireMockServer;
-import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
-import com.github.tomakehurst.wiremock.extension.responsetemplating.ResponseTemplateTransformer;
+import com.example.util.ResourceLocks;
+import com.example.util.StreamingListVerifier;
+import com.example.util.StubNamespace;
+import com.example.util.StubServerExtension;
+import com.example.util.TestData;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.sql.Connection;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
-import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 
+@ExtendWith({StubServerExtension.class, DbCleanupExtension.class})
 public class CustomerDbAssertionsTest {
 
-    private static WireMockServer wireMock;
+    // reads may hit an async replica; poll up to this long before failing
+    private static final Duration DB_CONVERGENCE_BUDGET = Duration.ofSeconds(10);
+
+    private static StubNamespace stubs;
     private static String baseUrl;
+    private static RequestSpecification spec;
 
     @BeforeAll
-    static void setUpAll() {
+    static void setUpAll(StubNamespace namespace) {
         Assumptions.assumeTrue(Db.isConfigured(), "DB not configured; skipping DB assertions");
         
         baseUrl = Config.getBaseUrl();
         if (baseUrl == null || baseUrl.isBlank()) {
-            // Start WireMock server with response templating for dynamic responses
-            wireMock = new WireMockServer(WireMockConfiguration.options()
-                .dynamicPort()
-                .extensions(new ResponseTemplateTransformer(false)));
-            wireMock.start();
-            
-            // Stub POST /api/customers - create customer
-            wireMock.stubFor(post(urlPathEqualTo("/api/customers"))
-                .willReturn(aResponse()
-                    .withStatus(201)
-                    .withHeader("Content-Type", "application/json")
-                    .withBody("{\"id\": \"{{randomValue type='UUID'}}\", \"name\": \"{{jsonPath request.body '$.name'}}\", \"email\": \"{{jsonPath request.body '$.email'}}\", \"phone\": \"{{jsonPath request.body '$.phone'}}\"}")
-                    .withTransformers("response-template")));
-            
-            // Stub PUT /api/customers/{id} - update customer  
-            wireMock.stubFor(put(urlPathMatching("/api/customers/.*"))
-                .willReturn(aResponse()
-                    .withStatus(200)
-                    .withHeader("Content-Type", "application/json")
-                    .withBody("{\"id\": \"{{request.pathSegments.[2]}}\", \"name\": \"{{jsonPath request.body '$.name'}}\", \"email\": \"{{jsonPath request.body '$.email'}}\", \"phone\": \"{{jsonPath request.body '$.phone'}}\"}")
-                    .withTransformers("response-template")));
-            
-            // Stub duplicate email constraint (409 for duplicate)
-            wireMock.stubFor(post(urlPathEqualTo("/api/customers"))
-                .withRequestBody(matchingJsonPath("$.email", matching(".*duplicate.*")))
-                .willReturn(aResponse().withStatus(409)));
+            // API writes go to the stateful simulator; DB checks below only run against a real API
+            stubs = namespace;
+            stubs.simulateCustomerApi();
             
-            baseUrl = "http://localhost:" + wireMock.port();
+            baseUrl = stubs.baseUrl();
         }
-        RestAssured.baseURI = baseUrl;
+        spec = stubs != null ? stubs.requestSpecification() : Api.spec(baseUrl);
     }
 
     @AfterAll
-    static void tearDown() {
-        if (wireMock != null) {
-            wireMock.stop();
+    static void reportPool() {
+        if (Db.isConfigured()) {
+            System.out.println(Db.poolStats());
         }
     }
 
@@ -82,13 +76,17 @@ public class CustomerDbAssertionsTest {
         payload.put("email", email);
         payload.put("phone", phone);
 
-        return RestAssured.given()
+        String id = RestAssured.given(spec)
             .contentType(ContentType.JSON)
             .body(payload)
             .when().post("/api/customers")
             .then().statusCode(anyOf(is(201), is(200)))
             .body("id", notNullValue())
             .extract().path("id");
+        if (stubs == null) {
+            DbCleanup.track(id);
+        }
+        return id;
     }
 
     /**
@@ -98,25 +96,15 @@ public class CustomerDbAssertionsTest {
         return createCustomer(name, RandomData.randomEmail(), RandomData.randomPhone());
     }
 
-    /**
-     * Helper method to get database schema
-     */
-    private String getSchema() {
-        return System.getProperty("db.schema", System.getenv().getOrDefault("DB_SCHEMA", "public"));
-    }
-
     @Test
     void createAndVerifyInDb() throws Exception {
         String email = RandomData.randomEmail();
         String id = createCustomer("DB Check", email, RandomData.randomPhone());
 
-        if (wireMock == null) {
+        if (stubs == null) {
             // Only test DB when using real API
-            try (Connection conn = Db.getConnection()) {
-                String schema = getSchema();
-                boolean present = Db.findCustomerIdByEmail(conn, schema, email).isPresent();
-                org.junit.jupiter.api.Assertions.assertTrue(present, "Customer not found in DB after create");
-            }
+            String dbId = Db.awaitCustomer(email).within(DB_CONVERGENCE_BUDGET);
+            org.junit.jupiter.api.Assertions.assertNotNull(dbId, "Customer not found in DB after create");
         } else {
             // When using WireMock, just verify API call succeeded (customer ID returned)
             org.junit.jupiter.api.Assertions.assertNotNull(id, "Customer ID should be returned from API");
@@ -135,45 +123,89 @@ public class CustomerDbAssertionsTest {
         update.put("name", "Updated Name");
         update.put("email", email);
         update.put("phone", RandomData.randomPhone());
-        RestAssured.given().contentType(ContentType.JSON).body(update)
+        RestAssured.given(spec).contentType(ContentType.JSON).body(update)
             .when().put("/api/customers/{id}", id).then().statusCode(200);
 
-        if (wireMock == null) {
+        if (stubs == null) {
             // Only verify in DB when using real API
+            String name = Db.awaitCustomerName(id, "Updated Name").within(DB_CONVERGENCE_BUDGET);
+            org.junit.jupiter.api.Assertions.assertEquals("Updated Name", name, "Name not updated in DB");
+        } else {
+            // When using WireMock, the simulator must return the updated state
+            RestAssured.given(spec).when().get("/api/customers/{id}", id)
+                .then().statusCode(200).body("name", is("Updated Name"));
+        }
+    }
+
+    @Test
+    void bulkCreateAndVerifyInDbInOneRoundTrip() throws Exception {
+        int count = Config.getInt("db.bulk.count", 25);
+        Map<String, String> idsByEmail = new LinkedHashMap<>();
+        try (CustomerApiClient client = new CustomerApiClient(spec)) {
+            client.createAll(TestData.customers(count)).forEach(c -> idsByEmail.put(c.email(), c.id()));
+        }
+        if (stubs == null) {
+            idsByEmail.values().forEach(DbCleanup::track);
+        }
+        // created after every batch row has committed, so it is the last one to replicate
+        String markerEmail = RandomData.randomEmail();
+        createCustomer("Bulk marker", markerEmail, RandomData.randomPhone());
+
+        if (stubs == null) {
+            // replication preserves commit order: once the marker is visible, verify the whole batch at once
+            Db.awaitCustomer(markerEmail).within(DB_CONVERGENCE_BUDGET);
             try (Connection conn = Db.getConnection()) {
-                String schema = getSchema();
-                String name = Db.findCustomerNameById(conn, schema, id).orElse(null);
-                org.junit.jupiter.api.Assertions.assertEquals("Updated Name", name, "Name not updated in DB");
+                Db.assertCustomersPresent(conn, Db.schema(), idsByEmail);
             }
         } else {
-            // When using WireMock, just verify API update succeeded (200 status already checked above)
-            org.junit.jupiter.api.Assertions.assertNotNull(id, "Customer ID should exist for update");
+            org.junit.jupiter.api.Assertions.assertEquals(count, idsByEmail.size(), "Every create should use a distinct email");
+            org.junit.jupiter.api.Assertions.assertFalse(idsByEmail.containsValue(null), "Every create should return an id");
         }
     }
 
     @Test
-    void duplicateEmailViolatesUniqueConstraint() {
-        if (wireMock == null) {
-            // When testing against real API, test actual duplicate constraint
-            String email = RandomData.randomEmail();
-            createCustomer("Dup1", email, RandomData.randomPhone());
-            
-            Map<String, Object> payload2 = new HashMap<>();
-            payload2.put("name", "Dup2");
-            payload2.put("email", email);       
-            payload2.put("phone", RandomData.randomPhone());
-            RestAssured.given().contentType(ContentType.JSON).body(payload2)
-                .when().post("/api/customers").then().statusCode(409);
-        } else {
-            // When using WireMock, test the stub for duplicate detection
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("name", "Test Duplicate");
-            payload.put("email", "duplicate@test.com"); // This triggers 409 in our stub
-            payload.put("phone", RandomData.randomPhone());
-            
-            RestAssured.given().contentType(ContentType.JSON).body(payload)
-                .when().post("/api/customers").then().statusCode(409);
+    @ResourceLock(value = ResourceLocks.CUSTOMERS, mode = ResourceAccessMode.READ_WRITE) // restore truncates customer
+    void lookupsAtProductionVolume() throws Exception {
+        int rows = Config.getInt("db.fixture.rows", 0);
+        Assumptions.assumeTrue(stubs == null && rows > 0, "Set -Ddb.fixture.rows (real API and DB) to test at volume");
+        try (Connection conn = Db.getConnection()) {
+            CustomerFixtures.snapshot(conn, Db.schema());
+            try {
+                CustomerFixtures.Loaded loaded = CustomerFixtures.load(conn, Db.schema(), rows);
+                System.out.println(loaded);
+                for (CustomerFixtures.Row row : loaded.sample()) {
+                    RestAssured.given(spec).when().get("/api/customers/{id}", row.id())
+                        .then().statusCode(200).body("email", is(row.email()));
+                }
+                // streamed and capped at a few pages: the lock is held for this, and the table has millions of rows
+                int maxPages = Config.getInt("db.fixture.listPages", 10);
+                StreamingListVerifier.Result list = StreamingListVerifier.of(spec, "/api/customers")
+                    .schema("Customer")
+                    .maxPages(maxPages)
+                    .verify()
+                    .assertValid();
+                if (list.pages() < maxPages) {
+                    org.junit.jupiter.api.Assertions.assertTrue(list.count() >= loaded.rows(),
+                        "Listed " + list.count() + " customers, loaded " + loaded.rows());
+                }
+            } finally {
+                CustomerFixtures.restore(conn, Db.schema());
+            }
         }
+    }
+
+    @Test
+    void duplicateEmailViolatesUniqueConstraint() {
+        // same flow for the real API and the simulator: both enforce unique emails
+        String email = RandomData.randomEmail();
+        createCustomer("Dup1", email, RandomData.randomPhone());
+
+        Map<String, Object> payload2 = new HashMap<>();
+        payload2.put("name", "Dup2");
+        payload2.put("email", email);
+        payload2.put("phone", RandomData.randomPhone());
+        RestAssured.given(spec).contentType(ContentType.JSON).body(payload2)
+            .when().post("/api/customers").then().statusCode(409);
     }    
 }
 
@@ -0,0 +1,60 @@
+package com.example.tests;
+
+import com.example.load.CustomerFlow;
+import com.example.load.LatencyRecorder;
+import com.example.load.LoadConfig;
+import com.example.load.LoadReport;
+import com.example.load.LoadRunner;
+import com.example.util.Api;
+import com.example.util.Config;
+import com.example.util.EnabledIfConfig;
+import com.example.util.PooledHttpClientFactory;
+import com.example.util.StubNamespace;
+import com.example.util.StubServerExtension;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the CRUD lifecycle under load and fails on SLO breaches. Opt-in: {@code mvn test -Pload}
+ * (or {@code load.enabled=true} from any {@link Config} source); tune with the {@code load.*} keys
+ * described in {@link LoadConfig}.
+ */
+@ExtendWith(StubServerExtension.class)
+@EnabledIfConfig("load.enabled")
+public class CustomerLoadTest {
+
+    private static RequestSpecification spec;
+
+    @BeforeAll
+    static void setUpAll(StubNamespace namespace) {
+        String baseUrl = Config.getBaseUrl();
+        if (baseUrl == null || baseUrl.isBlank()) {
+            namespace.simulateCustomerApi();
+            spec = namespace.requestSpecification();
+        } else {
+            spec = Api.spec(baseUrl);
+        }
+    }
+
+    @Test
+    void crudFlowMeetsSlo() {
+        LoadConfig config = LoadConfig.fromConfig();
+        LatencyRecorder recorder = new LatencyRecorder();
+        CustomerFlow flow = new CustomerFlow(spec, recorder);
+
+        LoadReport report = LoadRunner.run(config, recorder, flow::run);
+        System.out.println(report.format());
+        System.out.println(PooledHttpClientFactory.stats());
+        report.writeTo(Paths.get("target", "load-report.txt"));
+
+        List<String> violations = report.sloViolations(config);
+        assertTrue(violations.isEmpty(), "SLO violations:\n" + String.join("\n", violations));
+    }
+}
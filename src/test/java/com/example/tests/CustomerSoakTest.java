@@ -0,0 +1,91 @@
+package com.example.tests;
+
+import com.example.load.AuthFlow;
+import com.example.load.CustomerFlow;
+import com.example.load.SoakConfig;
+import com.example.load.SoakReport;
+import com.example.load.SoakRunner;
+import com.example.load.ValidationFlow;
+import com.example.util.Api;
+import com.example.util.Config;
+import com.example.util.EnabledIfConfig;
+import com.example.util.StubNamespace;
+import com.example.util.StubServer;
+import com.example.util.StubServerExtension;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loops the CRUD, validation and auth scenarios for {@code soak.duration} and fails on errors above
+ * {@code soak.maxErrorRate}, growing error rates, latency creep, steadily growing actuator metrics
+ * or a health check that went down. Opt-in:
+ * {@code mvn test -Psoak} (or {@code soak.enabled=true} from any {@link Config} source); tune with
+ * the {@code soak.*} keys described in {@link SoakConfig}. The trend report lands in {@code target/soak-report.txt}.
+ */
+@ExtendWith(StubServerExtension.class)
+@EnabledIfConfig("soak.enabled")
+public class CustomerSoakTest {
+
+    private static StubNamespace authStubs;
+    private static RequestSpecification spec;
+    private static RequestSpecification authSpec;
+
+    @BeforeAll
+    static void setUpAll(StubNamespace namespace) {
+        String baseUrl = Config.getBaseUrl();
+        if (baseUrl == null || baseUrl.isBlank()) {
+            namespace.simulateCustomerApi();
+            namespace.stubFor(get(urlEqualTo("/actuator/health"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+                    .withBody("{\"status\":\"UP\"}")));
+            // one gauge to exercise the trend checks; the other default metrics are reported as not exposed
+            namespace.stubFor(get(urlPathMatching("/actuator/metrics/.+")).atPriority(10)
+                .willReturn(aResponse().withStatus(404)));
+            namespace.stubFor(get(urlPathEqualTo("/actuator/metrics/jvm.memory.used"))
+                .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+                    .withBody("{\"name\":\"jvm.memory.used\",\"measurements\":[{\"statistic\":\"VALUE\",\"value\":1.2E8}]}")));
+            spec = namespace.requestSpecification();
+            // the security stubs answer every DELETE, so they get a namespace of their own
+            authStubs = StubServer.namespace(namespace.name() + "-auth");
+            SecurityAuthTest.stubSecurityEndpoints(authStubs);
+            authSpec = authStubs.requestSpecification();
+        } else {
+            spec = Api.spec(baseUrl);
+            authSpec = spec;
+        }
+    }
+
+    @AfterAll
+    static void tearDownAll() {
+        if (authStubs != null) {
+            authStubs.reset();
+        }
+    }
+
+    @Test
+    void noLeaksOrLatencyCreep() {
+        SoakConfig config = SoakConfig.fromConfig();
+        SoakReport report = SoakRunner.run(config, spec, recorder -> SoakRunner.roundRobin(
+            new CustomerFlow(spec, recorder)::run,
+            new ValidationFlow(spec, recorder)::run,
+            new AuthFlow(authSpec, recorder, "x1", AuthFlow.REJECTED)::run));
+        System.out.println(report.format(config));
+        report.writeTo(Paths.get("target"), config);
+
+        List<String> findings = report.findings(config);
+        assertTrue(findings.isEmpty(), "Soak findings:\n" + String.join("\n", findings));
+    }
+}
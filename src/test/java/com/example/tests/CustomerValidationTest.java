@@ -1,57 +1,38 @@
 package com.example.tests;
 
+import com.example.util.Api;
 import com.example.util.Config;
-import com.github.tomakehurst.wiremock.WireMockServer;
-import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
-import com.github.tomakehurst.wiremock.extension.responsetemplating.ResponseTemplateTransformer;
+import com.example.util.StubNamespace;
+import com.example.util.StubServerExtension;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.util.HashMap;
 import java.util.Map;
 
-import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
-import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
-import static com.github.tomakehurst.wiremock.client.WireMock.absent;
-import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
-import static com.github.tomakehurst.wiremock.client.WireMock.get;
-import static com.github.tomakehurst.wiremock.client.WireMock.matching;
-import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
-import static com.github.tomakehurst.wiremock.client.WireMock.post;
-import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
-import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
-import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
 import static org.hamcrest.Matchers.*;
 
+@ExtendWith(StubServerExtension.class)
 @TestMethodOrder(MethodOrderer.DisplayName.class)
 public class CustomerValidationTest {
 
-    private static WireMockServer wireMock;
+    private static StubNamespace stubs;
     private static String baseUrl;
+    private static RequestSpecification spec;
 
     @BeforeAll
-    static void setUpAll() {
+    static void setUpAll(StubNamespace namespace) {
         baseUrl = Config.getBaseUrl();
         if (baseUrl == null || baseUrl.isBlank()) {
-            wireMock = new WireMockServer(
-                WireMockConfiguration.options()
-                    .dynamicPort()
-                    .extensions(new ResponseTemplateTransformer(true))
-            );
-            wireMock.start();
-            stubErrorEndpoints(wireMock);
-            baseUrl = "http://localhost:" + wireMock.port();
-            System.out.println("Started WireMock at " + baseUrl);
-        }
-        RestAssured.baseURI = baseUrl;
-    }
-
-    @AfterAll
-    static void tearDownAll() {
-        if (wireMock != null) {
-            wireMock.stop();
+            stubs = namespace;
+            // validation, 404 and 409 come from the stateful simulator; seed the duplicate email
+            stubs.simulateCustomerApi().seed("Existing", "duplicate@example.test", "+10000000000");
+            baseUrl = stubs.baseUrl();
         }
+        spec = stubs != null ? stubs.requestSpecification() : Api.spec(baseUrl);
     }
 
     @Test
@@ -62,7 +43,7 @@ public class CustomerValidationTest {
         payload.put("phone", "+10000000000");
 
         RestAssured
-            .given()
+            .given(spec)
             .contentType(ContentType.JSON)
             .body(payload)
             .when()
@@ -83,7 +64,7 @@ public class CustomerValidationTest {
         payload.put("phone", "12345");
 
         RestAssured
-            .given()
+            .given(spec)
             .contentType(ContentType.JSON)
             .body(payload)
             .when()
@@ -99,7 +80,7 @@ public class CustomerValidationTest {
     @DisplayName("404 - get customer non-existent id")
     void getNonExistentReturns404() {
         RestAssured
-            .given()
+            .given(spec)
             .when()
             .get("/api/customers/{id}", "does-not-exist")
             .then()
@@ -117,7 +98,7 @@ public class CustomerValidationTest {
         payload.put("phone", "+10000000000");
 
         RestAssured
-            .given()
+            .given(spec)
             .contentType(ContentType.JSON)
             .body(payload)
             .when()
@@ -127,37 +108,4 @@ public class CustomerValidationTest {
             .body("message", containsStringIgnoringCase("exists"))
             .body("timestamp", notNullValue());
     }
-
-    private static void stubErrorEndpoints(WireMockServer wm) {
-        // 400 missing name
-        wm.stubFor(post(urlEqualTo("/api/customers"))
-            .withRequestBody(matchingJsonPath("$.name", absent()))
-            .willReturn(jsonError(400, "Field 'name' is required", "validation")));
-
-        // 400 invalid email/phone
-        wm.stubFor(post(urlEqualTo("/api/customers"))
-            .withRequestBody(matchingJsonPath("$.email", matching("^[^@]+$"))) // crude 'invalid' example
-            .willReturn(jsonError(400, "Invalid email format", "validation")));
-        wm.stubFor(post(urlEqualTo("/api/customers"))
-            .withRequestBody(matchingJsonPath("$.phone", matching("^\\+?\\d{0,9}$"))) // crude invalid phone
-            .willReturn(jsonError(400, "Invalid phone format", "validation")));
-
-        // 404 not found
-        wm.stubFor(get(urlPathMatching("/api/customers/does-not-exist"))
-            .willReturn(jsonError(404, "Customer not found", "not-found")));
-
-        // 409 duplicate
-        wm.stubFor(post(urlEqualTo("/api/customers"))
-            .withRequestBody(matchingJsonPath("$.email", equalTo("duplicate@example.test")))
-            .willReturn(jsonError(409, "Customer with email exists", "conflict")));
-    }
-
-    private static ResponseDefinitionBuilder jsonError(int status, String message, String reason) {
-        return aResponse()
-            .withStatus(status)
-            .withHeader("Content-Type", "application/json")
-            .withBody("{\n  \"timestamp\": \"2025-01-01T00:00:00Z\",\n  \"message\": \"" + message + "\",\n  \"details\": \"" + reason + "\"\n}");
-    }
 }
-
-
@@ -1,8 +1,9 @@
 package com.example.tests;
 
+import com.example.util.Api;
 import com.example.util.Config;
-import com.github.tomakehurst.wiremock.WireMockServer;
-import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.example.util.StubNamespace;
+import com.example.util.StubServerExtension;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -10,9 +11,10 @@ import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import io.qameta.allure.Story;
 import io.restassured.RestAssured;
-import org.junit.jupiter.api.AfterAll;
+import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
@@ -21,34 +23,30 @@ import static org.hamcrest.Matchers.equalTo;
 
 @Epic("Application Health Monitoring")
 @Feature("Health Check API")
+@ExtendWith(StubServerExtension.class)
 public class HealthCheckTest {
 
-    private static WireMockServer wireMock;
+    private static StubNamespace stubs;
     private static String baseUrl;
+    private static RequestSpecification spec;
 
     @BeforeAll
-    static void setUp() {
+    static void setUp(StubNamespace namespace) {
         baseUrl = Config.getBaseUrl();
         if (baseUrl == null || baseUrl.isBlank()) {
-            wireMock = new WireMockServer(WireMockConfiguration.options().dynamicPort());
-            wireMock.start();
-            wireMock.stubFor(
+            stubs = namespace;
+            stubs.stubFor(
                 get(urlEqualTo("/actuator/health"))
                     .willReturn(aResponse()
                         .withStatus(200)
                         .withHeader("Content-Type", "application/json")
                         .withBody("{\"status\":\"UP\"}"))
             );
-            baseUrl = "http://localhost:" + wireMock.port();
-        }
-        RestAssured.baseURI = baseUrl;
-    }
-
-    @AfterAll
-    static void tearDown() {
-        if (wireMock != null) {
-            wireMock.stop();
+            // recorded real traffic (RecordingFilter), if any, takes precedence over the canned body
+            stubs.replayRecorded();
+            baseUrl = stubs.baseUrl();
         }
+        spec = stubs != null ? stubs.requestSpecification() : Api.spec(baseUrl);
     }
 
     @Test
@@ -57,7 +55,7 @@ public class HealthCheckTest {
     @Description("Verify that the health endpoint returns HTTP 200 status code, indicating the application is running")
     void healthEndpointReturns200() {
         RestAssured
-            .given()
+            .given(spec)
             .when()
             .get("/actuator/health")
             .then()
@@ -69,11 +67,11 @@ public class HealthCheckTest {
     @Severity(SeverityLevel.CRITICAL)
     @Description("Verify that the health endpoint returns proper JSON response with status 'UP' when application is healthy")
     void healthPayloadHasStatusUpWhenStubbed() {
-        if (wireMock == null) {
+        if (stubs == null) {
             return; // when pointing at real system, we only assert status code in smoke
         }
         RestAssured
-            .given()
+            .given(spec)
             .when()
             .get("/actuator/health")
             .then()
@@ -0,0 +1,60 @@
+package com.example.tests;
+
+import com.example.load.AuthFlow;
+import com.example.load.AuthStressConfig;
+import com.example.load.LatencyRecorder;
+import com.example.load.LoadReport;
+import com.example.load.LoadRunner;
+import com.example.util.Api;
+import com.example.util.Config;
+import com.example.util.EnabledIfConfig;
+import com.example.util.StubNamespace;
+import com.example.util.StubServerExtension;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires valid and rejected {@code Authorization} headers at {@code DELETE /api/customers/{id}}
+ * concurrently and fails if a rejection path is much slower than the success path, which would
+ * make it a cheap way to load the service. Opt-in: {@code mvn test -Pauth-stress} (or
+ * {@code auth.stress.enabled=true} from any {@link Config} source); tune with the
+ * {@code auth.stress.*} keys described in {@link AuthStressConfig}.
+ */
+@ExtendWith(StubServerExtension.class)
+@EnabledIfConfig("auth.stress.enabled")
+public class SecurityAuthStressTest {
+
+    private static RequestSpecification spec;
+
+    @BeforeAll
+    static void setUpAll(StubNamespace namespace) {
+        String baseUrl = Config.getBaseUrl();
+        if (baseUrl == null || baseUrl.isBlank()) {
+            SecurityAuthTest.stubSecurityEndpoints(namespace);
+            spec = namespace.requestSpecification();
+        } else {
+            spec = Api.spec(baseUrl);
+        }
+    }
+
+    @Test
+    void rejectionsCostNoMoreThanSuccesses() {
+        AuthStressConfig config = AuthStressConfig.fromConfig();
+        LatencyRecorder recorder = new LatencyRecorder();
+        AuthFlow flow = new AuthFlow(spec, recorder, config.customerId(), AuthFlow.REJECTED);
+
+        LoadReport report = LoadRunner.run(config.loadConfig(), recorder, flow.mixed(config.validShare()));
+        System.out.println(report.format());
+        report.writeTo(Paths.get("target", "auth-stress-report.txt"));
+
+        List<String> violations = config.violations(report);
+        assertTrue(violations.isEmpty(), "Auth stress violations:\n" + String.join("\n", violations));
+    }
+}
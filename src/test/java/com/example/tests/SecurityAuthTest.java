@@ -1,10 +1,15 @@
 package com.example.tests;
 
+import com.example.util.Api;
 import com.example.util.Config;
-import com.github.tomakehurst.wiremock.WireMockServer;
-import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.example.util.ResourceLocks;
+import com.example.util.StubNamespace;
+import com.example.util.StubServerExtension;
 import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.delete;
@@ -14,38 +19,35 @@ import static com.github.tomakehurst.wiremock.client.WireMock.absent;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
 
+@ExtendWith(StubServerExtension.class)
+@ResourceLock(ResourceLocks.CUSTOMERS) // admin DELETE must not race the CRUD flow against a real API
 public class SecurityAuthTest {
 
-    private static WireMockServer wireMock;
+    private static StubNamespace stubs;
     private static String baseUrl;
+    private static RequestSpecification spec;
 
     @BeforeAll
-    static void setUpAll() {
+    static void setUpAll(StubNamespace namespace) {
         baseUrl = Config.getBaseUrl();
         if (baseUrl == null || baseUrl.isBlank()) {
-            wireMock = new WireMockServer(WireMockConfiguration.options().dynamicPort());
-            wireMock.start();
-            stubSecurityEndpoints(wireMock);
-            baseUrl = "http://localhost:" + wireMock.port();
+            stubs = namespace;
+            stubSecurityEndpoints(stubs);
+            baseUrl = stubs.baseUrl();
         }
-        RestAssured.baseURI = baseUrl;
-    }
-
-    @AfterAll
-    static void tearDownAll() {
-        if (wireMock != null) wireMock.stop();
+        spec = stubs != null ? stubs.requestSpecification() : Api.spec(baseUrl);
     }
 
     @Test
     void deleteWithoutTokenReturns401() {
-        RestAssured.given()
+        RestAssured.given(spec)
             .when().delete("/api/customers/{id}", "x1")
             .then().statusCode(401);
     }
 
     @Test
     void deleteWithUserRoleReturns403() {
-        RestAssured.given()
+        RestAssured.given(spec)
             .header("Authorization", "Bearer valid-user")
             .when().delete("/api/customers/{id}", "x1")
             .then().statusCode(403);
@@ -53,7 +55,7 @@ public class SecurityAuthTest {
 
     @Test
     void deleteWithAdminRoleReturns204() {
-        RestAssured.given()
+        RestAssured.given(spec)
             .header("Authorization", "Bearer valid-admin")
             .when().delete("/api/customers/{id}", "x1")
             .then().statusCode(204);
@@ -61,7 +63,7 @@ public class SecurityAuthTest {
 
     @Test
     void deleteWithExpiredTokenReturns401() {
-        RestAssured.given()
+        RestAssured.given(spec)
             .header("Authorization", "Bearer expired")
             .when().delete("/api/customers/{id}", "x1")
             .then().statusCode(401);
@@ -69,35 +71,35 @@ public class SecurityAuthTest {
 
     @Test
     void deleteWithMalformedTokenReturns401() {
-        RestAssured.given()
+        RestAssured.given(spec)
             .header("Authorization", "Bearer malformed")
             .when().delete("/api/customers/{id}", "x1")
             .then().statusCode(401);
     }
 
-    private static void stubSecurityEndpoints(WireMockServer wm) {
+    static void stubSecurityEndpoints(StubNamespace ns) {
         // 401 when no Authorization header
-        wm.stubFor(delete(urlPathMatching("/api/customers/.+"))
+        ns.stubFor(delete(urlPathMatching("/api/customers/.+"))
             .withHeader("Authorization", absent())
             .willReturn(aResponse().withStatus(401)));
 
         // 403 when user role token
-        wm.stubFor(delete(urlPathMatching("/api/customers/.+"))
+        ns.stubFor(delete(urlPathMatching("/api/customers/.+"))
             .withHeader("Authorization", matching("Bearer\\s+valid-user"))
             .willReturn(aResponse().withStatus(403)));
 
         // 204 when admin role token
-        wm.stubFor(delete(urlPathMatching("/api/customers/.+"))
+        ns.stubFor(delete(urlPathMatching("/api/customers/.+"))
             .withHeader("Authorization", matching("Bearer\\s+valid-admin"))
             .willReturn(aResponse().withStatus(204)));
 
         // 401 expired or malformed
-        wm.stubFor(delete(urlPathMatching("/api/customers/.+"))
+        ns.stubFor(delete(urlPathMatching("/api/customers/.+"))
             .withHeader("Authorization", matching("Bearer\\s+(expired|malformed)"))
             .willReturn(aResponse().withStatus(401)));
 
         // Optional: 200 on GET for authenticated user
-        wm.stubFor(get(urlPathMatching("/api/customers/.+"))
+        ns.stubFor(get(urlPathMatching("/api/customers/.+"))
             .withHeader("Authorization", matching("Bearer\\s+valid-.*"))
             .willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody("{\"id\":\"x1\"}")));
     }
@@ -1,73 +1,66 @@
 package com.example.tests;
 
+import com.example.util.BrowserPool;
+import com.example.util.BrowserPoolExtension;
 import com.example.util.Config;
+import com.example.util.SwaggerUiReadiness;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.ScreenshotType;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ExtendWith(BrowserPoolExtension.class)
 public class SwaggerUiSmokeTest {
 
-    private static Playwright playwright;
-    private static Browser browser;
-    private BrowserContext context;
+    private static BrowserPool pool;
+    private static String swaggerUrl;
+    private BrowserPool.Lease lease;
     private Page page;
-    private String swaggerUrl;
 
     @BeforeAll
-    static void beforeAll() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
-        
+    static void beforeAll(BrowserPool browserPool) {
+        String baseUrl = Config.getBaseUrl();
+        if (baseUrl == null || baseUrl.isBlank()) {
+            // skipped per test in setUp, so each test reports the missing BASE_URL
+            return;
+        }
+        swaggerUrl = baseUrl + "/swagger-ui/index.html";
+        pool = browserPool;
       
         try {
             Files.createDirectories(Paths.get("target/screenshots"));
         } catch (Exception e) {
             System.err.println("Could not create screenshots directory: " + e.getMessage());
         }
-    }
-
-    @AfterAll
-    static void afterAll() {
-        if (browser != null) browser.close();
-        if (playwright != null) playwright.close();
+        pool.warmUp(page -> System.out.println("Warm-up: " + SwaggerUiReadiness.open(page, swaggerUrl)));
     }
 
     @BeforeEach
-    void setUp() {
-        context = browser.newContext();
-        page = context.newPage();
-        
-        String baseUrl = Config.getBaseUrl();
-        Assumptions.assumeTrue(baseUrl != null && !baseUrl.isBlank(), "BASE_URL required for UI smoke");
-        swaggerUrl = baseUrl + "/swagger-ui/index.html";
+    void setUp(TestInfo testInfo) {
+        Assumptions.assumeTrue(swaggerUrl != null, "BASE_URL required for UI smoke");
+        // pages come back with Swagger UI fully rendered, served from the pool's asset cache; if
+        // loading fails, the pool screenshots the page before closing its context
+        lease = pool.acquire(testInfo.getTestMethod().map(m -> m.getName()).orElse("swagger-ui"),
+            page -> System.out.println(SwaggerUiReadiness.open(page, swaggerUrl)));
+        page = lease.page();
     }
 
     @AfterEach
     void tearDown() {
-        if (context != null) context.close();
+        if (lease != null) lease.close();
     }
 
     @Test
     void swaggerUiLoadsAndShowsTitle() {
         try {
-            System.out.println("Navigating to: " + swaggerUrl);
-            page.navigate(swaggerUrl);
-            
-            // Wait for page to load completely
-            page.waitForLoadState(LoadState.NETWORKIDLE);
-            
-            // Wait for the Swagger UI to load completely
-            page.waitForSelector(".swagger-ui", new Page.WaitForSelectorOptions().setTimeout(10000));
-            
-            // Additional wait for content to render
-            page.waitForTimeout(2000);
+            System.out.println("Testing: " + swaggerUrl);
             
             // Verify the page title
             String title = page.title();
@@ -89,8 +82,6 @@ public class SwaggerUiSmokeTest {
     @Test
     void swaggerUiShowsApiDocumentation() {
         try {
-            page.navigate(swaggerUrl);
-            
             // Wait for the API documentation to load
             page.waitForSelector(".info", new Page.WaitForSelectorOptions().setTimeout(15000));
             
@@ -114,8 +105,6 @@ public class SwaggerUiSmokeTest {
     @Test
     void swaggerUiCanExpandFirstEndpoint() {
         try {
-            page.navigate(swaggerUrl);
-            
             // Wait for endpoints to load
             page.waitForSelector(".opblock", new Page.WaitForSelectorOptions().setTimeout(15000));
             
@@ -148,8 +137,6 @@ public class SwaggerUiSmokeTest {
     @Test
     void swaggerUiHandlesAuthentication() {
         try {
-            page.navigate(swaggerUrl);
-            
             // Wait for the page to load
             page.waitForSelector(".swagger-ui", new Page.WaitForSelectorOptions().setTimeout(10000));
             
@@ -189,11 +176,8 @@ public class SwaggerUiSmokeTest {
      */
     private void captureScreenshot(String testName) {
         try {
-            // Wait for the page to be in a stable state before screenshot
-            page.waitForLoadState(LoadState.NETWORKIDLE);
-            
-            // Add a small delay to ensure content is rendered
-            page.waitForTimeout(1000);
+            // The page may have failed half-way; only make sure the document itself has loaded
+            page.waitForLoadState(LoadState.LOAD);
             
             String timestamp = java.time.LocalDateTime.now().toString().replaceAll("[:.]", "-");
             String screenshotPath = String.format("screenshots/%s-%s.png", testName, timestamp);
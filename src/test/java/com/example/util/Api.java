@@ -0,0 +1,57 @@
+package com.example.util;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Builds per-class REST Assured specifications. Test classes keep their own spec instead of
+ * assigning the global {@code RestAssured.baseURI}, so they can run in parallel.
+ */
+public final class Api {
+
+    // marks requests made through streaming(); it only passes the call on
+    private static final Filter STREAMING = (requestSpec, responseSpec, ctx) -> ctx.next(requestSpec, responseSpec);
+
+    private Api() {}
+
+    public static RequestSpecBuilder builder(String baseUrl) {
+        RequestSpecBuilder builder = new RequestSpecBuilder().setBaseUri(baseUrl);
+        ContractValidationFilter.ifEnabled().ifPresent(builder::addFilter);
+        RecordingFilter.ifEnabled().ifPresent(builder::addFilter);
+        builder.setConfig(RestAssuredConfig.config().httpClient(
+            HttpClientConfig.httpClientConfig().httpClientFactory(PooledHttpClientFactory.INSTANCE)));
+        if (Config.getBoolean("api.timing", true)) {
+            // added after the other filters so it times only the HTTP exchange and body download
+            builder.addFilter(ApiTimingFilter.INSTANCE);
+        }
+        builder.addFilter(ConnectionReleaseFilter.INSTANCE);
+        return builder;
+    }
+
+    /**
+     * A request on {@code spec} whose body stays on the socket: read it with {@code asInputStream()}
+     * and close the stream to hand the connection back. REST Assured's content decoders are off for
+     * it because they buffer compressed bodies; ask for and unzip compression yourself.
+     */
+    public static RequestSpecification streaming(RequestSpecification spec) {
+        RestAssuredConfig config = ((FilterableRequestSpecification) spec).getConfig();
+        return RestAssured.given(spec)
+            .config((config == null ? RestAssuredConfig.config() : config)
+                .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+            .filter(STREAMING);
+    }
+
+    static boolean isStreaming(FilterableRequestSpecification request) {
+        return request.getDefinedFilters().contains(STREAMING);
+    }
+
+    public static RequestSpecification spec(String baseUrl) {
+        return builder(baseUrl).build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.util;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Paths;
+
+/**
+ * Attaches a per-endpoint timing table to each test's Allure result and writes the run-wide
+ * summary to {@code target/api-timings.json} when the run ends. Registered for every test class
+ * through {@code META-INF/services} and {@code junit.jupiter.extensions.autodetection.enabled}.
+ * With {@code perf.gate} set, also runs each test and the run through {@link PerfGate}.
+ */
+public class ApiTimingExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL).getOrComputeIfAbsent(
+            ApiTimings.class,
+            key -> (ExtensionContext.Store.CloseableResource) () -> {
+                if (!ApiTimings.run().isEmpty()) {
+                    ApiTimings.run().writeJson(Paths.get("target", "api-timings.json"));
+                    System.out.println(PooledHttpClientFactory.stats());
+                    PerfGate gate = PerfGate.ifEnabled();
+                    if (gate != null) {
+                        gate.finishRun(ApiTimings.run());
+                    }
+                }
+            },
+            ExtensionContext.Store.CloseableResource.class);
+        ApiTimings.startTest();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        ApiTimings timings = ApiTimings.endTest();
+        if (timings != null && !timings.isEmpty()) {
+            Allure.addAttachment("API timings", "text/plain", timings.table(), ".txt");
+            PerfGate gate = PerfGate.ifEnabled();
+            if (gate != null) {
+                gate.checkTest(context.getRequiredTestClass().getSimpleName() + "#"
+                    + context.getRequiredTestMethod().getName(), timings.allSamples());
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.util;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Times every call made through {@link Api} specs and records it in {@link ApiTimings} under
+ * {@code METHOD path-template}. DNS, connect and time-to-first-byte come from the hooks in
+ * {@link PooledHttpClientFactory}, which run on the same thread while the call is in flight. The
+ * size is the {@code Content-Length}, or else the bytes the client saw read before the call
+ * returned.
+ */
+public final class ApiTimingFilter implements Filter {
+
+    static final ApiTimingFilter INSTANCE = new ApiTimingFilter();
+
+    private static final ThreadLocal<ApiTimings.Call> CURRENT = new ThreadLocal<>();
+
+    private ApiTimingFilter() {}
+
+    static ApiTimings.Call current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        ApiTimings.Call call = new ApiTimings.Call();
+        CURRENT.set(call);
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } finally {
+            call.totalNanos = System.nanoTime() - start;
+            CURRENT.remove();
+        }
+        call.status = response.statusCode();
+        // never read the body here: the client counts it as it is consumed, Content-Length wins when sent
+        String contentLength = response.getHeader("Content-Length");
+        if (contentLength != null) {
+            try {
+                call.bytes = Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException ignored) {
+                // keep the counted bytes
+            }
+        }
+
+        String basePath = requestSpec.getBasePath();
+        String path = (basePath == null || basePath.equals("/") ? "" : basePath) + requestSpec.getUserDefinedPath();
+        if (path.indexOf('?') >= 0) {
+            // paged calls pass their query in the path
+            path = path.substring(0, path.indexOf('?'));
+        }
+        ApiTimings.record(requestSpec.getMethod() + " " + path, call);
+        return response;
+    }
+}
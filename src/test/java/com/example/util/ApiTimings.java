@@ -0,0 +1,212 @@
+package com.example.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint timing of API calls, keyed by method and path template (e.g.
+ * {@code GET /api/customers/{id}}). One instance covers the whole run and another the test
+ * currently running on the calling thread; {@link ApiTimingExtension} turns them into an Allure
+ * attachment per test and {@code target/api-timings.json} for the run.
+ */
+public final class ApiTimings {
+
+    private static final ApiTimings RUN = new ApiTimings();
+    private static final ThreadLocal<ApiTimings> CURRENT_TEST = new ThreadLocal<>();
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    static final int RESERVOIR_SIZE = 1000;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public static ApiTimings run() {
+        return RUN;
+    }
+
+    static void startTest() {
+        CURRENT_TEST.set(new ApiTimings());
+    }
+
+    static ApiTimings endTest() {
+        ApiTimings timings = CURRENT_TEST.get();
+        CURRENT_TEST.remove();
+        return timings;
+    }
+
+    static void record(String endpoint, Call call) {
+        RUN.add(endpoint, call);
+        ApiTimings test = CURRENT_TEST.get();
+        if (test != null) {
+            test.add(endpoint, call);
+        }
+    }
+
+    private void add(String endpoint, Call call) {
+        endpoints.computeIfAbsent(endpoint, e -> new Endpoint()).add(call);
+    }
+
+    public boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    /**
+     * Total latency samples (ms) per endpoint, at most {@value #RESERVOIR_SIZE} each (uniformly sampled).
+     */
+    public Map<String, double[]> samplesByEndpoint() {
+        Map<String, double[]> samples = new TreeMap<>();
+        endpoints.forEach((name, e) -> samples.put(name, e.samplesMs()));
+        return samples;
+    }
+
+    /**
+     * Total latency samples (ms) of every call, across endpoints.
+     */
+    public double[] allSamples() {
+        return endpoints.values().stream().flatMapToDouble(e -> Arrays.stream(e.samplesMs())).toArray();
+    }
+
+    /**
+     * Plain-text table, one row per endpoint; times in ms, DNS and connect averaged over the calls
+     * that actually resolved or opened a connection.
+     */
+    public String table() {
+        StringBuilder out = new StringBuilder(String.format("%-40s %6s %8s %8s %8s %8s %9s %8s %10s %9s%n",
+            "endpoint", "calls", "p50", "p90", "p99", "max", "ttfb p50", "dns avg", "conn avg", "avg bytes"));
+        new TreeMap<>(endpoints).forEach((name, e) -> out.append(String.format(
+            "%-40s %6d %8.1f %8.1f %8.1f %8.1f %9.1f %8.1f %10.1f %9d%n",
+            name, e.calls.sum(),
+            ms(e.total, 50), ms(e.total, 90), ms(e.total, 99), e.total.getMaxValue() / 1000.0,
+            ms(e.ttfb, 50), e.avgDnsMs(), e.avgConnectMs(), e.avgBytes())));
+        return out.toString();
+    }
+
+    public void writeJson(Path file) {
+        ObjectNode root = MAPPER.createObjectNode().put("generatedAt", Instant.now().toString());
+        PooledHttpClientFactory.Stats connections = PooledHttpClientFactory.stats();
+        root.putObject("connectionPool")
+            .put("requests", connections.requests())
+            .put("connectionsOpened", connections.connectionsOpened())
+            .put("reuseRate", connections.reuseRate());
+        ObjectNode byEndpoint = root.putObject("endpoints");
+        new TreeMap<>(endpoints).forEach((name, e) -> {
+            ObjectNode node = byEndpoint.putObject(name)
+                .put("calls", e.calls.sum())
+                .put("serverErrors", e.serverErrors.sum())
+                .put("connections", e.connections.sum())
+                .put("avgBytes", e.avgBytes())
+                .put("dnsAvgMs", e.avgDnsMs())
+                .put("connectAvgMs", e.avgConnectMs());
+            node.putObject("totalMs")
+                .put("p50", ms(e.total, 50)).put("p90", ms(e.total, 90)).put("p99", ms(e.total, 99))
+                .put("max", e.total.getMaxValue() / 1000.0);
+            node.putObject("ttfbMs")
+                .put("p50", ms(e.ttfb, 50)).put("p90", ms(e.ttfb, 90)).put("p99", ms(e.ttfb, 99));
+        });
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, MAPPER.writeValueAsString(root), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Could not write " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Timings of one call, filled in by {@link ApiTimingFilter} and {@link PooledHttpClientFactory}
+     * on the calling thread.
+     */
+    static final class Call {
+        long dnsNanos;
+        long connectNanos;
+        int connections;
+        long requestSentAt;
+        long ttfbNanos;
+        long totalNanos;
+        long bytes;
+        int status;
+    }
+
+    private static final class Endpoint {
+        private final Histogram total = new ConcurrentHistogram(3);
+        private final Histogram ttfb = new ConcurrentHistogram(3);
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder dnsLookups = new LongAdder();
+        private final LongAdder dnsNanos = new LongAdder();
+        private final LongAdder connections = new LongAdder();
+        private final LongAdder connectNanos = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final double[] reservoir = new double[RESERVOIR_SIZE];
+        private long seen;
+
+        void add(Call call) {
+            calls.increment();
+            sample(call.totalNanos / 1_000_000.0);
+            total.recordValue(Math.max(0, call.totalNanos / 1000));
+            if (call.ttfbNanos > 0) {
+                ttfb.recordValue(call.ttfbNanos / 1000);
+            }
+            if (call.status >= 500) {
+                serverErrors.increment();
+            }
+            if (call.dnsNanos > 0) {
+                dnsLookups.increment();
+                dnsNanos.add(call.dnsNanos);
+            }
+            if (call.connections > 0) {
+                connections.add(call.connections);
+                connectNanos.add(call.connectNanos);
+            }
+            bytes.add(call.bytes);
+        }
+
+        // reservoir sampling (algorithm R) keeps a uniform sample of all calls in bounded memory
+        private synchronized void sample(double ms) {
+            if (seen < RESERVOIR_SIZE) {
+                reservoir[(int) seen] = ms;
+            } else {
+                long slot = ThreadLocalRandom.current().nextLong(seen + 1);
+                if (slot < RESERVOIR_SIZE) {
+                    reservoir[(int) slot] = ms;
+                }
+            }
+            seen++;
+        }
+
+        synchronized double[] samplesMs() {
+            return Arrays.copyOf(reservoir, (int) Math.min(seen, RESERVOIR_SIZE));
+        }
+
+        double avgDnsMs() {
+            long n = dnsLookups.sum();
+            return n == 0 ? 0 : dnsNanos.sum() / n / 1_000_000.0;
+        }
+
+        double avgConnectMs() {
+            long n = connections.sum();
+            return n == 0 ? 0 : connectNanos.sum() / n / 1_000_000.0;
+        }
+
+        long avgBytes() {
+            long n = calls.sum();
+            return n == 0 ? 0 : bytes.sum() / n;
+        }
+    }
+}
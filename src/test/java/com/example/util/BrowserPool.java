@@ -0,0 +1,260 @@
+package com.example.util;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Route;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * A fixed number of headless Chromium instances shared by the UI tests. Each slot owns its own
+ * {@link Playwright} (which is not thread-safe), so a {@link Lease} can be used freely from the
+ * thread that acquired it while other classes run in parallel.
+ *
+ * <p>Static Swagger UI assets (scripts, styles, images, source maps; not the HTML page) are fetched
+ * once per run and served to every later context from memory, and the storage state of the first
+ * context (cookies, local storage) is reused by later ones, so pages after the first render from a
+ * warm cache. Size with {@code ui.pool.size}
+ * (default: available processors, at most 4); browsers are launched on demand up to that size.
+ */
+public final class BrowserPool implements AutoCloseable {
+
+    // never index.html: the page itself (and the config it carries) is always fetched fresh
+    private static final Pattern STATIC_ASSET = Pattern.compile(".*/swagger-ui/.*\\.(js|css|png|ico|map)(\\?.*)?$");
+
+    private final int size;
+    private final BlockingQueue<Slot> idle = new LinkedBlockingQueue<>();
+    private final List<Slot> slots = new CopyOnWriteArrayList<>();
+    private final AtomicInteger launched = new AtomicInteger();
+    private final Map<String, CachedAsset> assets = new ConcurrentHashMap<>();
+    private volatile String storageState;
+    private volatile boolean closed;
+
+    public BrowserPool(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("ui.pool.size must be at least 1, was " + size);
+        }
+        this.size = size;
+    }
+
+    public static BrowserPool fromConfig() {
+        int defaultSize = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+        return new BrowserPool(Config.getInt("ui.pool.size", defaultSize));
+    }
+
+    /**
+     * Loads {@code url} once so the asset cache and storage state are populated before the first
+     * test measures anything.
+     */
+    public void warmUp(String url) {
+        warmUp(page -> page.navigate(url));
+    }
+
+    public void warmUp(Consumer<Page> open) {
+        acquire("warm-up", open).close();
+        System.out.println("Browser pool warmed: " + assets.size() + " cached assets");
+    }
+
+    /**
+     * Borrows a browser exclusively and returns a fresh context with a page already navigated to
+     * {@code url}. Blocks while all browsers are leased.
+     */
+    public Lease acquire(String url) {
+        return acquire(page -> page.navigate(url));
+    }
+
+    /**
+     * Like {@link #acquire(String)}, but lets the caller drive navigation, e.g. to wait for
+     * readiness signals that can only be observed while the page loads.
+     */
+    public Lease acquire(Consumer<Page> open) {
+        return acquire("acquire", open);
+    }
+
+    /**
+     * Like {@link #acquire(Consumer)}; if {@code open} fails, the page is captured to
+     * {@code screenshots/<label>-failure-<timestamp>.png} before its context is closed.
+     */
+    public Lease acquire(String label, Consumer<Page> open) {
+        Slot slot = borrow();
+        BrowserContext context = null;
+        Page page = null;
+        try {
+            Browser.NewContextOptions options = new Browser.NewContextOptions();
+            if (storageState != null) {
+                options.setStorageState(storageState);
+            }
+            context = slot.browser.newContext(options);
+            context.route(STATIC_ASSET, this::serveCached);
+            page = context.newPage();
+            open.accept(page);
+            if (storageState == null) {
+                storageState = context.storageState();
+            }
+            return new Lease(slot, context, page);
+        } catch (RuntimeException e) {
+            if (page != null) {
+                captureFailure(page, label);
+            }
+            if (context != null) {
+                context.close();
+            }
+            idle.offer(slot);
+            throw e;
+        }
+    }
+
+    public int cachedAssets() {
+        return assets.size();
+    }
+
+    private Slot borrow() {
+        if (closed) {
+            throw new IllegalStateException("Browser pool is closed");
+        }
+        Slot slot = idle.poll();
+        if (slot != null) {
+            return slot;
+        }
+        if (launched.getAndIncrement() < size) {
+            try {
+                slot = Slot.launch();
+            } catch (RuntimeException e) {
+                launched.decrementAndGet();
+                throw e;
+            }
+            slots.add(slot);
+            return slot;
+        }
+        launched.decrementAndGet();
+        try {
+            return idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a browser", e);
+        }
+    }
+
+    private static void captureFailure(Page page, String label) {
+        String timestamp = LocalDateTime.now().toString().replaceAll("[:.]", "-");
+        Path path = Paths.get("screenshots", label + "-failure-" + timestamp + ".png");
+        try {
+            Files.createDirectories(path.getParent());
+            page.screenshot(new Page.ScreenshotOptions().setPath(path).setFullPage(true));
+            System.out.println("Screenshot of failed page load: " + path + " (at " + page.url() + ")");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to capture screenshot: " + e.getMessage());
+        }
+    }
+
+    private void serveCached(Route route) {
+        String url = route.request().url();
+        CachedAsset asset = assets.get(url);
+        if (asset == null) {
+            APIResponse response = route.fetch();
+            asset = new CachedAsset(response.status(), response.headers(), response.body());
+            response.dispose();
+            if (asset.status() == 200) {
+                assets.putIfAbsent(url, asset);
+            }
+        }
+        route.fulfill(new Route.FulfillOptions()
+            .setStatus(asset.status())
+            .setHeaders(asset.headers())
+            .setBodyBytes(asset.body()));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Slot slot : slots) {
+            slot.close();
+        }
+        slots.clear();
+        idle.clear();
+    }
+
+    /**
+     * Exclusive use of one browser until closed; closing drops the context and returns the browser.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Slot slot;
+        private final BrowserContext context;
+        private final Page page;
+
+        private Lease(Slot slot, BrowserContext context, Page page) {
+            this.slot = slot;
+            this.context = context;
+            this.page = page;
+        }
+
+        public Page page() {
+            return page;
+        }
+
+        public BrowserContext context() {
+            return context;
+        }
+
+        @Override
+        public void close() {
+            try {
+                context.close();
+            } finally {
+                if (!closed) {
+                    idle.offer(slot);
+                }
+            }
+        }
+    }
+
+    private record CachedAsset(int status, Map<String, String> headers, byte[] body) {}
+
+    private static final class Slot {
+
+        private final Playwright playwright;
+        private final Browser browser;
+
+        private Slot(Playwright playwright, Browser browser) {
+            this.playwright = playwright;
+            this.browser = browser;
+        }
+
+        static Slot launch() {
+            Playwright playwright = Playwright.create();
+            try {
+                return new Slot(playwright,
+                    playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true)));
+            } catch (RuntimeException e) {
+                playwright.close();
+                throw e;
+            }
+        }
+
+        void close() {
+            try {
+                browser.close();
+            } finally {
+                playwright.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.util;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Injects the run-wide {@link BrowserPool}, created on first use and closed when the whole run is
+ * over, so every UI test class shares the same browsers and asset cache.
+ */
+public class BrowserPoolExtension implements ParameterResolver {
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == BrowserPool.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(ExtensionContext.Namespace.GLOBAL).getOrComputeIfAbsent(
+            BrowserPool.class,
+            key -> new PooledResource(BrowserPool.fromConfig()),
+            PooledResource.class).pool();
+    }
+
+    private record PooledResource(BrowserPool pool) implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            pool.close();
+        }
+    }
+}
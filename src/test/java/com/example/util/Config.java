@@ -2,54 +2,178 @@ package com.example.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Suite configuration. Every key is resolved in one order, first non-blank value wins:
+ * <ol>
+ *   <li>system property ({@code -Dload.targetRps=50})</li>
+ *   <li>environment variable, camelCase/dots as UPPER_SNAKE ({@code LOAD_TARGET_RPS=50})</li>
+ *   <li>{@code db.properties} on the test classpath (credentials, kept out of git)</li>
+ *   <li>{@code config.properties} on the test classpath</li>
+ *   <li>the caller's default</li>
+ * </ol>
+ * All sources are read once, on first use, into an immutable snapshot; later lookups are plain map
+ * reads without locking, so setting a system property after the first lookup has no effect.
+ */
 public final class Config {
 
     private static final String BASE_URL_KEY = "baseUrl";
-    private static final String ENV_BASE_URL_KEY = "BASE_URL";
-    private static final Properties PROPS = new Properties();
-    private static boolean loaded = false;
 
     private Config() {}
 
-    public static synchronized void loadIfNeeded() {
-        if (loaded) {
-            return;
-        }
-        try (InputStream in = resourceStream("/config.properties")) {
-            if (in != null) {
-                PROPS.load(in);
-            }
-        } catch (IOException ignored) {
-            // Intentionally ignore: fall back to defaults / system props / env
-        }
-        loaded = true;
+    // the JVM initialises Holder on first access, exactly once, and publishes it safely to every thread
+    private static final class Holder {
+        static final Snapshot SNAPSHOT = Snapshot.capture();
     }
 
     public static String getBaseUrl() {
-        loadIfNeeded();
-        // Priority: system property > env var > properties file
-        String fromSysProp = System.getProperty(BASE_URL_KEY);
-        if (isNonEmpty(fromSysProp)) return fromSysProp.trim();
+        return get(BASE_URL_KEY, ""); // empty means "not configured"
+    }
+
+    /**
+     * {@code key} resolved in the documented order, trimmed, or {@code defaultValue}.
+     */
+    public static String get(String key, String defaultValue) {
+        String value = Holder.SNAPSHOT.resolve(key);
+        return value != null ? value : defaultValue;
+    }
 
-        String fromEnv = System.getenv(ENV_BASE_URL_KEY);
-        if (isNonEmpty(fromEnv)) return fromEnv.trim();
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
 
-        String fromProps = PROPS.getProperty(BASE_URL_KEY);
-        if (isNonEmpty(fromProps)) return fromProps.trim();
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
 
-        return ""; // empty means "not configured"
+    public static double getDouble(String key, double defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Double.parseDouble(value);
     }
 
-    private static InputStream resourceStream(String path) {
-        return Optional.ofNullable(Config.class.getResourceAsStream(path)).orElse(null);
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
     }
 
-    private static boolean isNonEmpty(String s) {
-        return s != null && !s.trim().isEmpty();
+    /**
+     * A timeout or interval: {@code 250ms}, {@code 30s}, {@code 5m}, or a bare number of milliseconds
+     * (what the existing {@code *Ms} keys hold).
+     */
+    public static Duration getDuration(String key, Duration defaultValue) {
+        return getDuration(key, defaultValue, ChronoUnit.MILLIS);
+    }
+
+    /**
+     * Like {@link #getDuration(String, Duration)}, for keys whose bare numbers are in another unit,
+     * e.g. {@code load.durationSeconds=60}.
+     */
+    public static Duration getDuration(String key, Duration defaultValue, ChronoUnit bareUnit) {
+        String value = get(key, null);
+        return value == null ? defaultValue : parseDuration(key, value, bareUnit);
+    }
+
+    /**
+     * The profile selected with {@code <family>.profile} (e.g. {@code stub.profile=slow-network}),
+     * empty when unset or {@code none}. Its settings live under {@code <family>.profile.<name>.*}.
+     */
+    public static Optional<String> profile(String family) {
+        String name = get(family + ".profile", "");
+        return name.isEmpty() || name.equals("none") ? Optional.empty() : Optional.of(name);
+    }
+
+    static String envKey(String key) {
+        return key.replaceAll("([a-z0-9])([A-Z])", "$1_$2").replace('.', '_').toUpperCase(Locale.ROOT);
+    }
+
+    static Duration parseDuration(String key, String value) {
+        return parseDuration(key, value, ChronoUnit.MILLIS);
+    }
+
+    static Duration parseDuration(String key, String value, ChronoUnit bareUnit) {
+        String v = value.toLowerCase(Locale.ROOT);
+        try {
+            if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2).trim()));
+            if (v.endsWith("s")) return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1).trim()));
+            if (v.endsWith("m")) return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1).trim()));
+            if (v.endsWith("h")) return Duration.ofHours(Long.parseLong(v.substring(0, v.length() - 1).trim()));
+            return Duration.of(Long.parseLong(v), bareUnit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + "=" + value + " is not a duration (e.g. 500ms, 30s, 5m)", e);
+        }
     }
-}
 
+    /**
+     * The sources as they were on first use. Keys are resolved on demand (env var names are derived
+     * from the key) and memoised; since the inputs never change, the memo is as good as immutable.
+     */
+    private static final class Snapshot {
 
+        private static final String MISSING = new String("<missing>");
+
+        private final Map<String, String> systemProperties;
+        private final Map<String, String> environment;
+        private final Map<String, String> files;
+        private final ConcurrentHashMap<String, String> resolved = new ConcurrentHashMap<>();
+
+        private Snapshot(Map<String, String> systemProperties, Map<String, String> environment, Map<String, String> files) {
+            this.systemProperties = systemProperties;
+            this.environment = environment;
+            this.files = files;
+        }
+
+        static Snapshot capture() {
+            Map<String, String> files = new HashMap<>();
+            load("/config.properties", files);
+            load("/db.properties", files);
+            return new Snapshot(copy(System.getProperties()), Map.copyOf(System.getenv()), Map.copyOf(files));
+        }
+
+        String resolve(String key) {
+            String value = resolved.get(key);
+            if (value == null) {
+                value = resolved.computeIfAbsent(key, this::lookup);
+            }
+            return value == MISSING ? null : value;
+        }
+
+        private String lookup(String key) {
+            String value = nonBlank(systemProperties.get(key));
+            if (value == null) value = nonBlank(environment.get(envKey(key)));
+            if (value == null) value = nonBlank(files.get(key));
+            return value != null ? value : MISSING;
+        }
+
+        private static void load(String resource, Map<String, String> into) {
+            try (InputStream in = Config.class.getResourceAsStream(resource)) {
+                if (in != null) {
+                    Properties props = new Properties();
+                    props.load(in);
+                    into.putAll(copy(props));
+                }
+            } catch (IOException ignored) {
+                // Intentionally ignore: fall back to defaults / system props / env
+            }
+        }
+
+        private static Map<String, String> copy(Properties props) {
+            Map<String, String> copy = new HashMap<>();
+            props.stringPropertyNames().forEach(name -> copy.put(name, props.getProperty(name)));
+            return Map.copyOf(copy);
+        }
+
+        private static String nonBlank(String s) {
+            return s == null || s.isBlank() ? null : s.trim();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.util;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Finishes {@link ContractValidationFilter} once, after the last test class of the run: drains the
+ * async validations, writes {@code target/contract-violations.txt} and, with {@code contract.fail},
+ * fails the run on violations that no test saw. Registered for every test class through
+ * {@code META-INF/services}.
+ */
+public class ContractValidationExtension implements BeforeAllCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL).getOrComputeIfAbsent(
+            ContractValidationFilter.class,
+            key -> (ExtensionContext.Store.CloseableResource) ContractValidationFilter::finishRun,
+            ExtensionContext.Store.CloseableResource.class);
+    }
+}
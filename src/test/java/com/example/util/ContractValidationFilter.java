@@ -0,0 +1,214 @@
+package com.example.util;
+
+import com.atlassian.oai.validator.OpenApiInteractionValidator;
+import com.atlassian.oai.validator.model.Request;
+import com.atlassian.oai.validator.model.SimpleResponse;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.restassured.OpenApiValidationFilter;
+import com.atlassian.oai.validator.restassured.RestAssuredRequest;
+import com.atlassian.oai.validator.restassured.RestAssuredResponse;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in contract check on every call made through {@link Api} specs, so drift shows up in the
+ * CRUD, validation and security suites and not only in {@code ContractTest}.
+ *
+ * <ul>
+ *   <li>{@code contract.validate=true} turns it on (off by default)</li>
+ *   <li>{@code contract.sampleRate} validates only that share of calls (default 1.0)</li>
+ *   <li>{@code contract.async=true} validates on a background pool instead of failing the calling
+ *       test; violations are written to {@code target/contract-violations.txt} when the run ends</li>
+ *   <li>{@code contract.fail=true} with {@code async} fails the run if any violation was found,
+ *       through {@link ContractValidationExtension} (default false: report only)</li>
+ *   <li>{@code contract.specUrl} validates against a served spec instead of the bundled openapi.json</li>
+ * </ul>
+ * Requests that already carry an {@link OpenApiValidationFilter} are skipped to avoid validating twice;
+ * {@link Api#streaming streamed} calls are checked on status and headers only.
+ * Request-side errors are ignored when the API answered 4xx, since negative tests send invalid payloads on purpose.
+ */
+public final class ContractValidationFilter implements Filter {
+
+    private static final Path VIOLATIONS_FILE = Paths.get("target", "contract-violations.txt");
+    private static final int ASYNC_QUEUE_CAPACITY = 10_000;
+
+    private static volatile ContractValidationFilter shared;
+
+    private final OpenApiInteractionValidator validator;
+    private final double sampleRate;
+    private final ThreadPoolExecutor asyncPool;
+    private final boolean failRun;
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private final Queue<String> violations = new ConcurrentLinkedQueue<>();
+    private final LongAdder validated = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private ContractValidationFilter(OpenApiInteractionValidator validator, double sampleRate, boolean async, boolean failRun) {
+        this.validator = validator;
+        this.sampleRate = sampleRate;
+        this.asyncPool = async ? newAsyncPool() : null;
+        this.failRun = failRun;
+    }
+
+    /**
+     * The shared filter when {@code contract.validate} is on, otherwise empty.
+     */
+    public static Optional<Filter> ifEnabled() {
+        if (!Config.getBoolean("contract.validate", false)) {
+            return Optional.empty();
+        }
+        ContractValidationFilter filter = shared;
+        if (filter == null) {
+            synchronized (ContractValidationFilter.class) {
+                if (shared == null) {
+                    String specUrl = Config.get("contract.specUrl", "");
+                    OpenApiInteractionValidator validator = specUrl.isEmpty()
+                        ? OpenApiSpecs.validator(OpenApiSpecs.classpathSpec())
+                        : OpenApiSpecs.validatorForUrl(specUrl);
+                    shared = new ContractValidationFilter(validator,
+                        Config.getDouble("contract.sampleRate", 1.0),
+                        Config.getBoolean("contract.async", false),
+                        Config.getBoolean("contract.fail", false));
+                    // the extension finishes the run first; the hook covers runs outside JUnit
+                    Runtime.getRuntime().addShutdownHook(new Thread(shared::writeReport, "contract-report"));
+                }
+                filter = shared;
+            }
+        }
+        return Optional.of(filter);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return response;
+        }
+        if (requestSpec.getDefinedFilters().stream().anyMatch(f -> f instanceof OpenApiValidationFilter)) {
+            return response;
+        }
+        // snapshot on the calling thread; the copies are safe to validate anywhere. A streamed body
+        // belongs to the caller, so only its status and headers are copied
+        boolean streamed = Api.isStreaming(requestSpec);
+        Request request = RestAssuredRequest.of(requestSpec);
+        com.atlassian.oai.validator.model.Response copy = streamed ? withoutBody(response) : RestAssuredResponse.of(response);
+        String call = requestSpec.getMethod() + " " + requestSpec.getURI() + " -> " + response.statusCode();
+        if (asyncPool == null) {
+            ValidationReport errors = validate(request, copy, streamed, call);
+            if (errors.hasErrors()) {
+                throw new OpenApiValidationFilter.OpenApiValidationException(errors);
+            }
+        } else {
+            try {
+                asyncPool.execute(() -> validate(request, copy, streamed, call));
+            } catch (RejectedExecutionException e) {
+                dropped.increment();
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Validates one call and returns only the errors that count as contract violations.
+     */
+    private ValidationReport validate(Request request, com.atlassian.oai.validator.model.Response response,
+                                      boolean streamed, String call) {
+        boolean rejected = response.getStatus() >= 400 && response.getStatus() < 500;
+        ValidationReport errors = ValidationReport.from(validator.validate(request, response).getMessages().stream()
+            .filter(m -> m.getLevel() == ValidationReport.Level.ERROR)
+            .filter(m -> !(rejected && m.getKey().startsWith("validation.request")))
+            .filter(m -> !(streamed && m.getKey().equals("validation.response.body.missing")))
+            .collect(Collectors.toList()));
+        validated.increment();
+        if (errors.hasErrors()) {
+            violations.add(call + System.lineSeparator() + errors.getMessages().stream()
+                .map(m -> "    " + m.getKey() + ": " + m.getMessage())
+                .collect(Collectors.joining(System.lineSeparator())));
+        }
+        return errors;
+    }
+
+    private static com.atlassian.oai.validator.model.Response withoutBody(Response response) {
+        SimpleResponse.Builder copy = SimpleResponse.Builder.status(response.statusCode());
+        response.getHeaders().asList().stream()
+            .collect(Collectors.groupingBy(Header::getName, LinkedHashMap::new, Collectors.mapping(Header::getValue, Collectors.toList())))
+            .forEach(copy::withHeader);
+        return copy.build();
+    }
+
+    /**
+     * Waits for pending async validations and writes the report, if the filter was used in this run.
+     *
+     * @throws AssertionError if {@code contract.fail} is on and async validation found violations
+     */
+    static void finishRun() {
+        ContractValidationFilter filter = shared;
+        if (filter == null || !filter.writeReport()) {
+            return;
+        }
+        if (filter.failRun && filter.asyncPool != null && !filter.violations.isEmpty()) {
+            throw new AssertionError(filter.violations.size() + " contract violations (contract.fail=true), see "
+                + VIOLATIONS_FILE + "; first:" + System.lineSeparator() + filter.violations.peek());
+        }
+    }
+
+    // false if the report was already written
+    private boolean writeReport() {
+        if (!finished.compareAndSet(false, true)) {
+            return false;
+        }
+        if (asyncPool != null) {
+            asyncPool.shutdown();
+            try {
+                asyncPool.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        String body = String.format("Contract validation: %d calls validated, %d violations, %d dropped (async queue full)%n%n%s%n",
+            validated.sum(), violations.size(), dropped.sum(), String.join(System.lineSeparator(), violations));
+        try {
+            Files.createDirectories(VIOLATIONS_FILE.getParent());
+            Files.writeString(VIOLATIONS_FILE, body, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Could not write " + VIOLATIONS_FILE + ": " + e.getMessage());
+        }
+        return true;
+    }
+
+    private static ThreadPoolExecutor newAsyncPool() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(ASYNC_QUEUE_CAPACITY),
+            r -> {
+                Thread t = new Thread(r, "contract-validator-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+}
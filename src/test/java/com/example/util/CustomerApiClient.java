@@ -0,0 +1,174 @@
+package com.example.util;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Typed {@code /api/customers} client over a test's spec, with blocking calls and
+ * {@code *Async} variants that run on virtual threads (see {@link VirtualThreads}).
+ * <p>
+ * At most {@code api.client.maxInFlight} calls (default {@code http.maxPerRoute}, i.e. one per
+ * pooled connection) run at once. Submitting blocks the caller while that many are in flight, so a
+ * bulk call over a stream of 10k customers never queues more than the limit.
+ * Unexpected statuses fail like the tests' own REST Assured assertions.
+ */
+public final class CustomerApiClient implements AutoCloseable {
+
+    public record Customer(String id, String name, String email, String phone) {}
+
+    private final RequestSpecification spec;
+    private final Semaphore inFlight;
+    private final ExecutorService executor;
+
+    public CustomerApiClient(RequestSpecification spec) {
+        this(spec, Config.getInt("api.client.maxInFlight", Config.getInt("http.maxPerRoute", 20)));
+    }
+
+    public CustomerApiClient(RequestSpecification spec, int maxInFlight) {
+        this.spec = spec;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.executor = VirtualThreads.newExecutor("customer-api", maxInFlight);
+    }
+
+    public Customer create(TestData.NewCustomer customer) {
+        Response response = RestAssured.given(spec).contentType(ContentType.JSON).body(customer.asMap())
+            .when().post("/api/customers")
+            .then().statusCode(anyOf(is(201), is(200)))
+            .extract().response();
+        return toCustomer(response);
+    }
+
+    public Optional<Customer> get(String id) {
+        Response response = RestAssured.given(spec).when().get("/api/customers/{id}", id)
+            .then().statusCode(anyOf(is(200), is(404)))
+            .extract().response();
+        return response.statusCode() == 404 ? Optional.empty() : Optional.of(toCustomer(response));
+    }
+
+    public Customer update(String id, TestData.NewCustomer customer) {
+        Response response = RestAssured.given(spec).contentType(ContentType.JSON).body(customer.asMap())
+            .when().put("/api/customers/{id}", id)
+            .then().statusCode(200)
+            .extract().response();
+        return toCustomer(response);
+    }
+
+    /**
+     * True if the customer existed and was deleted, false if it was already gone.
+     */
+    public boolean delete(String id) {
+        int status = RestAssured.given(spec).when().delete("/api/customers/{id}", id)
+            .then().statusCode(anyOf(is(204), is(200), is(404)))
+            .extract().statusCode();
+        return status != 404;
+    }
+
+    public CompletableFuture<Customer> createAsync(TestData.NewCustomer customer) {
+        return submit(() -> create(customer));
+    }
+
+    public CompletableFuture<Optional<Customer>> getAsync(String id) {
+        return submit(() -> get(id));
+    }
+
+    public CompletableFuture<Customer> updateAsync(String id, TestData.NewCustomer customer) {
+        return submit(() -> update(id, customer));
+    }
+
+    public CompletableFuture<Boolean> deleteAsync(String id) {
+        return submit(() -> delete(id));
+    }
+
+    /**
+     * Creates every customer concurrently and returns them in input order; fails with the first
+     * error once all calls have finished.
+     */
+    public List<Customer> createAll(Stream<TestData.NewCustomer> customers) {
+        List<CompletableFuture<Customer>> futures = new ArrayList<>();
+        customers.forEach(c -> futures.add(createAsync(c)));
+        return joinAll(futures);
+    }
+
+    /**
+     * Looks every id up concurrently; absent customers map to {@link Optional#empty()}.
+     */
+    public Map<String, Optional<Customer>> getAll(Collection<String> ids) {
+        List<CompletableFuture<Optional<Customer>>> futures = new ArrayList<>(ids.size());
+        ids.forEach(id -> futures.add(getAsync(id)));
+        List<Optional<Customer>> found = joinAll(futures);
+        Map<String, Optional<Customer>> byId = new LinkedHashMap<>(ids.size() * 2);
+        int i = 0;
+        for (String id : ids) {
+            byId.put(id, found.get(i++));
+        }
+        return byId;
+    }
+
+    /**
+     * Deletes every id concurrently and returns how many existed.
+     */
+    public long deleteAll(Collection<String> ids) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(ids.size());
+        ids.forEach(id -> futures.add(deleteAsync(id)));
+        return joinAll(futures).stream().filter(Boolean::booleanValue).count();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // acquire in the caller's thread: that is what pushes back on a producer that outruns the API
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        inFlight.acquireUninterruptibly();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return call.get();
+                } finally {
+                    inFlight.release();
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // surface the original assertion or exception rather than the wrapper
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        futures.forEach(f -> results.add(f.join()));
+        return results;
+    }
+
+    private static Customer toCustomer(Response response) {
+        return new Customer(response.path("id"), response.path("name"), response.path("email"), response.path("phone"));
+    }
+}
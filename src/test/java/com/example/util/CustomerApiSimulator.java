@@ -0,0 +1,269 @@
+package com.example.util;
+
+import com.atlassian.oai.validator.model.SimpleRequest;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Stateful in-memory implementation of {@code /api/customers}, plugged into the shared
+ * {@link StubServer} as a response transformer. Each {@link StubNamespace} gets its own
+ * {@link Customers} store, so a GET after a POST returns what was posted, a deleted id is 404, and
+ * a second POST with the same email is 409, without any per-id stubs.
+ *
+ * <p>Request bodies are checked against {@code openapi.json} with the shared validator from
+ * {@link OpenApiSpecs}; on top of the schema, emails are unique (case-insensitive) and phones must
+ * look like E.164 numbers. Enable it for a namespace with {@link StubNamespace#simulateCustomerApi()}.
+ */
+public final class CustomerApiSimulator extends ResponseDefinitionTransformer {
+
+    static final String NAME = "customer-api";
+
+    private static final String COLLECTION = "/api/customers";
+    private static final Pattern PHONE = Pattern.compile("^\\+?[1-9]\\d{9,14}$");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, Customers> NAMESPACES = new ConcurrentHashMap<>();
+
+    static Customers customers(String namespace) {
+        return NAMESPACES.computeIfAbsent(namespace, ns -> new Customers());
+    }
+
+    static void clear(String namespace) {
+        NAMESPACES.remove(namespace);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                        FileSource files, Parameters parameters) {
+        ResponseDefinitionBuilder response = ResponseDefinitionBuilder.like(responseDefinition).but();
+        Customers customers = customers(request.getHeader(StubServer.NAMESPACE_HEADER));
+        String path = request.getUrl().split("\\?", 2)[0];
+        String id = path.length() > COLLECTION.length() + 1 ? path.substring(COLLECTION.length() + 1) : null;
+        switch (request.getMethod().getName()) {
+            case "GET":
+                return (id == null ? list(customers, response) : get(customers, id, response)).build();
+            case "POST":
+                return (id == null ? create(customers, path, request.getBodyAsString(), response)
+                    : error(response, 405, "Method not allowed", "POST " + path)).build();
+            case "PUT":
+                return (id == null ? error(response, 405, "Method not allowed", "PUT " + path)
+                    : update(customers, path, id, request.getBodyAsString(), response)).build();
+            case "DELETE":
+                return (id == null ? error(response, 405, "Method not allowed", "DELETE " + path)
+                    : delete(customers, id, response)).build();
+            default:
+                return error(response, 405, "Method not allowed", request.getMethod().getName() + " " + path).build();
+        }
+    }
+
+    private static ResponseDefinitionBuilder list(Customers customers, ResponseDefinitionBuilder response) {
+        ArrayNode array = MAPPER.createArrayNode();
+        customers.byId.values().forEach(c -> array.add(c.toJson()));
+        return json(response, 200, array);
+    }
+
+    private static ResponseDefinitionBuilder get(Customers customers, String id, ResponseDefinitionBuilder response) {
+        Customer customer = customers.byId.get(id);
+        return customer == null ? notFound(response, id) : json(response, 200, customer.toJson());
+    }
+
+    private static ResponseDefinitionBuilder create(Customers customers, String path, String body,
+                                                    ResponseDefinitionBuilder response) {
+        ObjectNode node = parse(body);
+        if (node == null) {
+            return error(response, 400, "Invalid JSON body", "validation");
+        }
+        ResponseDefinitionBuilder invalid = validate(SimpleRequest.Builder.post(path), node, response);
+        if (invalid != null) {
+            return invalid;
+        }
+        Customer customer = new Customer(UUID.randomUUID().toString(),
+            node.get("name").asText(), node.get("email").asText(), node.get("phone").asText());
+        if (!customers.insert(customer)) {
+            return error(response, 409, "Customer with email " + customer.email() + " already exists", "conflict");
+        }
+        return json(response, 201, customer.toJson());
+    }
+
+    private static ResponseDefinitionBuilder update(Customers customers, String path, String id, String body,
+                                                    ResponseDefinitionBuilder response) {
+        ObjectNode node = parse(body);
+        if (node == null) {
+            return error(response, 400, "Invalid JSON body", "validation");
+        }
+        // the id comes from the path; the spec's Customer schema requires it in the body as well
+        JsonNode bodyId = node.putIfAbsent("id", node.textNode(id));
+        if (bodyId != null && !id.equals(bodyId.asText())) {
+            return error(response, 400, "Invalid id: body id " + bodyId.asText() + " does not match path", "validation");
+        }
+        ResponseDefinitionBuilder invalid = validate(SimpleRequest.Builder.put(path), node, response);
+        if (invalid != null) {
+            return invalid;
+        }
+        Customer updated = new Customer(id, node.get("name").asText(), node.get("email").asText(), node.get("phone").asText());
+        switch (customers.replace(updated)) {
+            case MISSING:
+                return notFound(response, id);
+            case CONFLICT:
+                return error(response, 409, "Customer with email " + updated.email() + " already exists", "conflict");
+            default:
+                return json(response, 200, updated.toJson());
+        }
+    }
+
+    private static ResponseDefinitionBuilder delete(Customers customers, String id, ResponseDefinitionBuilder response) {
+        return customers.remove(id) ? response.withStatus(204) : notFound(response, id);
+    }
+
+    private static ResponseDefinitionBuilder validate(SimpleRequest.Builder request, ObjectNode body,
+                                                      ResponseDefinitionBuilder response) {
+        ValidationReport report = OpenApiSpecs.validator(OpenApiSpecs.classpathSpec()).validateRequest(request
+            .withContentType("application/json")
+            .withBody(body.toString())
+            .build());
+        if (report.hasErrors()) {
+            ValidationReport.Message first = report.getMessages().get(0);
+            String prefix = first.getKey().endsWith(".required") ? "Missing required field: " : "Invalid request: ";
+            String details = report.getMessages().stream()
+                .map(ValidationReport.Message::getMessage)
+                .collect(Collectors.joining("; "));
+            return error(response, 400, prefix + first.getMessage(), details);
+        }
+        if (!PHONE.matcher(body.get("phone").asText()).matches()) {
+            return error(response, 400, "Invalid phone format", "validation");
+        }
+        return null;
+    }
+
+    private static ObjectNode parse(String body) {
+        try {
+            JsonNode node = body == null || body.isBlank() ? null : MAPPER.readTree(body);
+            return node instanceof ObjectNode ? (ObjectNode) node : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static ResponseDefinitionBuilder notFound(ResponseDefinitionBuilder response, String id) {
+        return error(response, 404, "Customer not found", "No customer with id " + id);
+    }
+
+    private static ResponseDefinitionBuilder error(ResponseDefinitionBuilder response, int status,
+                                                   String message, String details) {
+        ObjectNode body = MAPPER.createObjectNode()
+            .put("timestamp", Instant.now().toString())
+            .put("message", message)
+            .put("details", details);
+        return json(response, status, body);
+    }
+
+    private static ResponseDefinitionBuilder json(ResponseDefinitionBuilder response, int status, JsonNode body) {
+        return response
+            .withStatus(status)
+            .withHeader("Content-Type", "application/json")
+            .withBody(body.toString());
+    }
+
+    private record Customer(String id, String name, String email, String phone) {
+
+        String emailKey() {
+            return email.toLowerCase(Locale.ROOT);
+        }
+
+        ObjectNode toJson() {
+            return MAPPER.createObjectNode()
+                .put("id", id)
+                .put("name", name)
+                .put("email", email)
+                .put("phone", phone);
+        }
+    }
+
+    private enum ReplaceResult { REPLACED, MISSING, CONFLICT }
+
+    /**
+     * The customers of one namespace, indexed by id and by email.
+     */
+    public static final class Customers {
+
+        private final ConcurrentMap<String, Customer> byId = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, String> idByEmail = new ConcurrentHashMap<>();
+
+        /**
+         * Adds a customer directly, e.g. an existing email for a duplicate test, and returns its id.
+         */
+        public String seed(String name, String email, String phone) {
+            Customer customer = new Customer(UUID.randomUUID().toString(), name, email, phone);
+            if (!insert(customer)) {
+                throw new IllegalStateException("Customer with email " + email + " already exists");
+            }
+            return customer.id();
+        }
+
+        public int size() {
+            return byId.size();
+        }
+
+        private boolean insert(Customer customer) {
+            if (idByEmail.putIfAbsent(customer.emailKey(), customer.id()) != null) {
+                return false;
+            }
+            byId.put(customer.id(), customer);
+            return true;
+        }
+
+        private ReplaceResult replace(Customer updated) {
+            ReplaceResult[] result = {ReplaceResult.MISSING};
+            byId.computeIfPresent(updated.id(), (id, current) -> {
+                if (!current.emailKey().equals(updated.emailKey())) {
+                    String owner = idByEmail.putIfAbsent(updated.emailKey(), id);
+                    if (owner != null && !owner.equals(id)) {
+                        result[0] = ReplaceResult.CONFLICT;
+                        return current;
+                    }
+                    idByEmail.remove(current.emailKey(), id);
+                }
+                result[0] = ReplaceResult.REPLACED;
+                return updated;
+            });
+            return result[0];
+        }
+
+        private boolean remove(String id) {
+            Customer removed = byId.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            idByEmail.remove(removed.emailKey(), id);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.util;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Loads the {@code customer} table at production volume through {@code COPY ... FROM STDIN},
+ * and truncates or restores it between runs. Rows are generated, encoded and sent in fixed-size
+ * chunks as the stream is consumed, so memory stays flat however many rows are loaded.
+ * <p>
+ * Typical use: {@link #snapshot} once, {@link #load} millions of rows, exercise the API, then
+ * {@link #restore} to get the pre-test data back.
+ */
+public final class CustomerFixtures {
+
+    private static final int CHUNK_BYTES = 1 << 16;
+    private static final int SAMPLE_SIZE = 100;
+    private static final String SNAPSHOT_SUFFIX = "_fixture_snapshot";
+
+    private CustomerFixtures() {}
+
+    /**
+     * A loaded row, kept as a sample so tests can look loaded customers up.
+     */
+    public record Row(String id, String email) {}
+
+    /**
+     * How many rows went in, how long it took, and a uniform sample of up to {@value #SAMPLE_SIZE} rows.
+     */
+    public record Loaded(long rows, long millis, List<Row> sample) {
+
+        @Override
+        public String toString() {
+            return String.format("Loaded %d customers in %d ms (%.0f rows/s)", rows, millis,
+                millis == 0 ? 0 : rows * 1000.0 / millis);
+        }
+    }
+
+    /**
+     * Generates {@code count} customers with {@link TestData#customers(int)} and copies them in.
+     */
+    public static Loaded load(Connection conn, String schema, int count) throws SQLException {
+        return load(conn, schema, TestData.customers(count));
+    }
+
+    /**
+     * Copies {@code customers} into {@code schema.customer} with fresh UUID ids, then refreshes the
+     * planner statistics so lookups are planned as they would be on a full production table.
+     */
+    public static Loaded load(Connection conn, String schema, Stream<TestData.NewCustomer> customers) throws SQLException {
+        long start = System.nanoTime();
+        CopyIn copy = conn.unwrap(PGConnection.class).getCopyAPI()
+            .copyIn("copy " + schema + ".customer (id, name, email, phone) from stdin");
+        List<Row> sample = new ArrayList<>(SAMPLE_SIZE);
+        long rows = 0;
+        try {
+            byte[] chunk = new byte[CHUNK_BYTES];
+            int used = 0;
+            StringBuilder line = new StringBuilder(128);
+            for (TestData.NewCustomer customer : (Iterable<TestData.NewCustomer>) customers::iterator) {
+                String id = randomUuid().toString();
+                line.setLength(0);
+                line.append(id).append('\t');
+                appendEscaped(line, customer.name()).append('\t');
+                appendEscaped(line, customer.email()).append('\t');
+                appendEscaped(line, customer.phone()).append('\n');
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                if (used + bytes.length > chunk.length) {
+                    copy.writeToCopy(chunk, 0, used);
+                    used = 0;
+                }
+                if (bytes.length > chunk.length) {
+                    copy.writeToCopy(bytes, 0, bytes.length);
+                } else {
+                    System.arraycopy(bytes, 0, chunk, used, bytes.length);
+                    used += bytes.length;
+                }
+                sample(sample, new Row(id, customer.email()), rows++);
+            }
+            if (used > 0) {
+                copy.writeToCopy(chunk, 0, used);
+            }
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+        execute(conn, "analyze " + schema + ".customer");
+        return new Loaded(rows, (System.nanoTime() - start) / 1_000_000, List.copyOf(sample));
+    }
+
+    /**
+     * Empties {@code schema.customer}. Much faster than {@code delete} on large tables, but takes an
+     * exclusive lock and fails if other tables reference it.
+     */
+    public static void truncate(Connection conn, String schema) throws SQLException {
+        execute(conn, "truncate table " + schema + ".customer");
+    }
+
+    /**
+     * Copies the current rows to an unlogged side table that {@link #restore} reads back,
+     * replacing any earlier snapshot.
+     */
+    public static void snapshot(Connection conn, String schema) throws SQLException {
+        String snapshot = schema + ".customer" + SNAPSHOT_SUFFIX;
+        execute(conn, "drop table if exists " + snapshot);
+        execute(conn, "create unlogged table " + snapshot + " as table " + schema + ".customer");
+    }
+
+    /**
+     * Replaces the table contents with the last {@link #snapshot} in one transaction, so readers
+     * never see it half restored, and drops the snapshot table.
+     */
+    public static void restore(Connection conn, String schema) throws SQLException {
+        String snapshot = schema + ".customer" + SNAPSHOT_SUFFIX;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            truncate(conn, schema);
+            execute(conn, "insert into " + schema + ".customer select * from " + snapshot);
+            execute(conn, "drop table " + snapshot);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        execute(conn, "analyze " + schema + ".customer");
+    }
+
+    private static void execute(Connection conn, String sql) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    // version 4 layout without UUID.randomUUID()'s SecureRandom, which dominates the cost at millions of rows
+    private static UUID randomUuid() {
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        return new UUID((rng.nextLong() & ~0xF000L) | 0x4000L,
+            (rng.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L);
+    }
+
+    // reservoir sampling keeps a uniform sample without holding the loaded rows
+    private static void sample(List<Row> sample, Row row, long index) {
+        if (sample.size() < SAMPLE_SIZE) {
+            sample.add(row);
+        } else {
+            long slot = ThreadLocalRandom.current().nextLong(index + 1);
+            if (slot < SAMPLE_SIZE) {
+                sample.set((int) slot, row);
+            }
+        }
+    }
+
+    // COPY text format: backslash, tab and line breaks must be escaped
+    private static StringBuilder appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(c);
+            }
+        }
+        return out;
+    }
+}
@@ -1,60 +1,87 @@
 package com.example.util;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Properties;
+import java.util.stream.Collectors;
 
 public final class Db {
 
-    private static final Properties PROPS = new Properties();
-    private static boolean loaded;
+    // emails bound per "= any(?)" array; keeps each statement and result set bounded for huge batches
+    private static final int LOOKUP_CHUNK_SIZE = 5_000;
+
+    private static final DbPoolMetrics POOL_METRICS = new DbPoolMetrics();
+    private static volatile HikariDataSource dataSource;
 
     private Db() {}
 
-    public static synchronized void loadIfNeeded() {
-        if (loaded) return;
-        try (InputStream in = Db.class.getResourceAsStream("/db.properties")) {
-            if (in != null) PROPS.load(in);
-        } catch (IOException ignored) {}
-        // allow overrides via system props / env
-        overrideIfPresent("db.url", System.getProperty("db.url"), System.getenv("DB_URL"));
-        overrideIfPresent("db.user", System.getProperty("db.user"), System.getenv("DB_USER"));
-        overrideIfPresent("db.password", System.getProperty("db.password"), System.getenv("DB_PASSWORD"));
-        overrideIfPresent("db.schema", System.getProperty("db.schema"), System.getenv("DB_SCHEMA"));
-        loaded = true;
+    /**
+     * True when {@code db.url} is set (see {@link Config} for where it may come from).
+     */
+    public static boolean isConfigured() {
+        return !Config.get("db.url", "").isEmpty();
     }
 
-    private static void overrideIfPresent(String key, String sysValue, String envValue) {
-        if (sysValue != null && !sysValue.trim().isEmpty()) {
-            PROPS.setProperty(key, sysValue.trim());
-            return;
-        }
-        if (envValue != null && !envValue.trim().isEmpty()) {
-            PROPS.setProperty(key, envValue.trim());
-        }
+    public static String schema() {
+        return Config.get("db.schema", "public");
     }
 
-    public static boolean isConfigured() {
-        loadIfNeeded();
-        String url = PROPS.getProperty("db.url", "").trim();
-        return !url.isEmpty();
+    /**
+     * Borrows a connection from the shared pool; close it to hand it back.
+     */
+    public static Connection getConnection() throws SQLException {
+        Assumptions.assumeTrue(isConfigured(), "DB not configured; skipping DB tests");
+        return dataSource().getConnection();
     }
 
-    public static Connection getConnection() throws SQLException {
-        loadIfNeeded();
-        String url = PROPS.getProperty("db.url");
-        String user = PROPS.getProperty("db.user");
-        String password = PROPS.getProperty("db.password");
-        Assumptions.assumeTrue(url != null && !url.isBlank(), "DB not configured; skipping DB tests");
-        return DriverManager.getConnection(url, user, password);
+    /**
+     * Pool wait / connection setup figures since the pool was created.
+     */
+    public static DbPoolMetrics.Snapshot poolStats() {
+        return POOL_METRICS.snapshot();
+    }
+
+    // double-checked so borrowing never locks once the pool exists; a failed start is retried on the next call
+    private static HikariDataSource dataSource() {
+        HikariDataSource ds = dataSource;
+        if (ds != null) return ds;
+        synchronized (Db.class) {
+            if (dataSource == null) {
+                dataSource = createDataSource();
+            }
+            return dataSource;
+        }
+    }
+
+    private static HikariDataSource createDataSource() {
+        HikariConfig cfg = new HikariConfig();
+        cfg.setPoolName("qa-db");
+        cfg.setJdbcUrl(Config.get("db.url", null));
+        cfg.setUsername(Config.get("db.user", null));
+        cfg.setPassword(Config.get("db.password", null));
+        cfg.setMinimumIdle(Config.getInt("db.pool.minIdle", 1));
+        cfg.setMaximumPoolSize(Config.getInt("db.pool.maxSize", 4));
+        cfg.setConnectionTimeout(Config.getDuration("db.pool.connectionTimeoutMs", Duration.ofSeconds(30)).toMillis());
+        // connections are validated with JDBC4 isValid() before being handed out after idling
+        cfg.setValidationTimeout(Config.getDuration("db.pool.validationTimeoutMs", Duration.ofSeconds(5)).toMillis());
+        cfg.setLeakDetectionThreshold(Config.getDuration("db.pool.leakDetectionMs", Duration.ofSeconds(20)).toMillis());
+        cfg.setMetricsTrackerFactory(POOL_METRICS);
+        HikariDataSource dataSource = new HikariDataSource(cfg);
+        Runtime.getRuntime().addShutdownHook(new Thread(dataSource::close, "db-pool-shutdown"));
+        return dataSource;
     }
 
     public static Optional<String> findCustomerIdByEmail(Connection conn, String schema, String email) throws SQLException {
@@ -82,6 +109,72 @@ public final class Db {
             }
         }
     }
-}
 
+    /**
+     * Looks up many customers at once and returns email -> id for the ones that exist. Emails are sent
+     * as a Postgres array, so up to {@value #LOOKUP_CHUNK_SIZE} emails cost a single round trip.
+     */
+    public static Map<String, String> findCustomerIdsByEmails(Connection conn, String schema, Collection<String> emails) throws SQLException {
+        Map<String, String> idsByEmail = new HashMap<>(emails.size() * 2);
+        String sql = "select email, id from " + schema + ".customer where email = any(?)";
+        List<String> all = new ArrayList<>(emails);
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int from = 0; from < all.size(); from += LOOKUP_CHUNK_SIZE) {
+                List<String> chunk = all.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, all.size()));
+                ps.setArray(1, conn.createArrayOf("varchar", chunk.toArray()));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        idsByEmail.put(rs.getString(1), rs.getString(2));
+                    }
+                }
+            }
+        }
+        return idsByEmail;
+    }
+
+    /**
+     * Fails with a diff unless every expected email exists with the expected id. A null expected id
+     * only checks presence.
+     */
+    public static void assertCustomersPresent(Connection conn, String schema, Map<String, String> expectedIdsByEmail) throws SQLException {
+        Map<String, String> actual = findCustomerIdsByEmails(conn, schema, expectedIdsByEmail.keySet());
+        List<String> missing = new ArrayList<>();
+        List<String> wrongId = new ArrayList<>();
+        expectedIdsByEmail.forEach((email, expectedId) -> {
+            String actualId = actual.get(email);
+            if (actualId == null) {
+                missing.add(email);
+            } else if (expectedId != null && !expectedId.equals(actualId)) {
+                wrongId.add(email + " (expected " + expectedId + ", was " + actualId + ")");
+            }
+        });
+        if (!missing.isEmpty() || !wrongId.isEmpty()) {
+            Assertions.fail(String.format("%d of %d customers not as expected in DB; missing %d: %s; wrong id %d: %s",
+                missing.size() + wrongId.size(), expectedIdsByEmail.size(),
+                missing.size(), preview(missing), wrongId.size(), preview(wrongId)));
+        }
+    }
+
+    private static String preview(List<String> items) {
+        String shown = items.stream().limit(20).collect(Collectors.joining(", ", "[", "]"));
+        return items.size() > 20 ? shown + " ..." : shown;
+    }
 
+    /**
+     * Waits until a customer with this email is visible, e.g. {@code Db.awaitCustomer(email).within(Duration.ofSeconds(10))},
+     * and returns its id.
+     */
+    public static DbAwait awaitCustomer(String email) {
+        return new DbAwait("customer.idByEmail", "customer with email " + email,
+            "select id from " + schema() + ".customer where email = ?", email, Optional::isPresent);
+    }
+
+    /**
+     * Waits until the customer's name reads back as {@code expectedName} and returns it.
+     */
+    public static DbAwait awaitCustomerName(String id, String expectedName) {
+        return new DbAwait("customer.nameById", "customer " + id + " to be named '" + expectedName + "'",
+            "select name from " + schema() + ".customer where id = ?", id,
+            name -> name.filter(expectedName::equals).isPresent());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.util;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Polls a single-value query until it satisfies a condition, for reads that go through an
+ * asynchronously replicated replica. Backs off exponentially with jitter, never exceeds the
+ * budget passed to {@link #within(Duration)}, and reuses one prepared statement for all polls.
+ * Every await is appended to {@code target/db-convergence.csv} so replication lag can be charted.
+ */
+public final class DbAwait {
+
+    private static final Path CONVERGENCE_LOG = Paths.get("target", "db-convergence.csv");
+
+    private final String label;
+    private final String description;
+    private final String sql;
+    private final String param;
+    private final Predicate<Optional<String>> condition;
+    private Duration initialDelay = Duration.ofMillis(50);
+    private Duration maxDelay = Duration.ofSeconds(2);
+
+    DbAwait(String label, String description, String sql, String param, Predicate<Optional<String>> condition) {
+        this.label = label;
+        this.description = description;
+        this.sql = sql;
+        this.param = param;
+        this.condition = condition;
+    }
+
+    public DbAwait initialDelay(Duration initialDelay) {
+        this.initialDelay = initialDelay;
+        return this;
+    }
+
+    public DbAwait maxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+        return this;
+    }
+
+    /**
+     * Polls until the condition holds and returns the value read, or fails the test once the
+     * budget is spent.
+     */
+    public String within(Duration budget) throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        long delayNanos = initialDelay.toNanos();
+        int attempts = 0;
+        try (Connection conn = Db.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, param);
+            while (true) {
+                attempts++;
+                Optional<String> value = queryOnce(ps);
+                long now = System.nanoTime();
+                if (condition.test(value)) {
+                    record(attempts, now - start, true);
+                    return value.orElse(null);
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    record(attempts, now - start, false);
+                    return Assertions.fail("Timed out after " + budget.toMillis() + " ms (" + attempts
+                        + " polls) waiting for " + description + "; last value: " + value.orElse("<none>"));
+                }
+                // equal jitter: half the delay fixed, half random, so parallel pollers spread out
+                long half = delayNanos / 2;
+                long sleepNanos = Math.min(half + ThreadLocalRandom.current().nextLong(half + 1), remaining);
+                sleep(sleepNanos);
+                delayNanos = Math.min(delayNanos * 2, maxDelay.toNanos());
+            }
+        }
+    }
+
+    private static Optional<String> queryOnce(PreparedStatement ps) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) {
+                return Optional.ofNullable(rs.getString(1));
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for DB convergence", e);
+        }
+    }
+
+    private void record(int attempts, long elapsedNanos, boolean converged) {
+        String line = String.format("%s,%s,%d,%.1f,%s%n",
+            Instant.now(), label, attempts, elapsedNanos / 1_000_000.0, converged);
+        synchronized (DbAwait.class) {
+            try {
+                boolean header = !Files.exists(CONVERGENCE_LOG);
+                Files.createDirectories(CONVERGENCE_LOG.getParent());
+                Files.writeString(CONVERGENCE_LOG,
+                    (header ? "timestamp,query,attempts,elapsedMs,converged\n" : "") + line,
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                System.err.println("Could not write " + CONVERGENCE_LOG + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Customer ids created through the API during the run, deleted from {@code customer} in batches
+ * once the run is over (see {@link DbCleanupExtension}). Rows written by the API live outside any
+ * transaction a test controls, so this is what keeps the real table from growing run after run.
+ * It does not isolate runs or workers from each other; tests rely on unique data for that.
+ * Disable with {@code db.cleanup=false} to inspect the rows afterwards.
+ */
+public final class DbCleanup {
+
+    private static final int DELETE_CHUNK_SIZE = 5_000;
+    private static final Queue<String> CREATED_IDS = new ConcurrentLinkedQueue<>();
+
+    private DbCleanup() {}
+
+    public static void track(String customerId) {
+        if (customerId != null) {
+            CREATED_IDS.add(customerId);
+        }
+    }
+
+    /**
+     * Deletes every tracked id, one statement per {@value #DELETE_CHUNK_SIZE} ids, and returns how many
+     * rows went away.
+     */
+    static int deleteTracked() throws SQLException {
+        List<String> ids = new ArrayList<>();
+        for (String id; (id = CREATED_IDS.poll()) != null; ) {
+            ids.add(id);
+        }
+        if (ids.isEmpty() || !Db.isConfigured() || !Config.getBoolean("db.cleanup", true)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (Connection conn = Db.getConnection();
+             PreparedStatement ps = conn.prepareStatement("delete from " + Db.schema() + ".customer where id = any(?)")) {
+            for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+                List<String> chunk = ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size()));
+                ps.setArray(1, conn.createArrayOf("varchar", chunk.toArray()));
+                deleted += ps.executeUpdate();
+            }
+        }
+        System.out.printf("DB cleanup: deleted %d of %d customers created during the run%n", deleted, ids.size());
+        return deleted;
+    }
+}
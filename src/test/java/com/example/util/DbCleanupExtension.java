@@ -0,0 +1,19 @@
+package com.example.util;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Runs {@link DbCleanup} once, after the last test class of the run, however many classes
+ * register this extension.
+ */
+public class DbCleanupExtension implements BeforeAllCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL).getOrComputeIfAbsent(
+            DbCleanup.class,
+            key -> (ExtensionContext.Store.CloseableResource) DbCleanup::deleteTracked,
+            ExtensionContext.Store.CloseableResource.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects pool wait and connection setup times from Hikari so a slow DB assertion can be told
+ * apart from a slow connection handshake.
+ */
+public final class DbPoolMetrics implements MetricsTrackerFactory {
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+    private final LongAdder createMillis = new LongAdder();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquisitions.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+            }
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                connectionsCreated.increment();
+                createMillis.add(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public Snapshot snapshot() {
+        long count = acquisitions.sum();
+        long created = connectionsCreated.sum();
+        PoolStats stats = poolStats;
+        return new Snapshot(
+            count,
+            count == 0 ? 0 : acquireNanos.sum() / count / 1_000_000.0,
+            maxAcquireNanos.get() / 1_000_000.0,
+            timeouts.sum(),
+            created,
+            created == 0 ? 0 : (double) createMillis.sum() / created,
+            stats == null ? 0 : stats.getActiveConnections(),
+            stats == null ? 0 : stats.getTotalConnections());
+    }
+
+    public record Snapshot(long acquisitions, double avgWaitMs, double maxWaitMs, long timeouts,
+                           long connectionsCreated, double avgCreateMs, int active, int total) {
+
+        @Override
+        public String toString() {
+            return String.format("DB pool: %d acquisitions, wait avg %.2f ms / max %.2f ms, %d timeouts, "
+                    + "%d connections created (avg %.1f ms), %d/%d active",
+                acquisitions, avgWaitMs, maxWaitMs, timeouts, connectionsCreated, avgCreateMs, active, total);
+        }
+    }
+}
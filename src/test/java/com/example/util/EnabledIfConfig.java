@@ -0,0 +1,24 @@
+package com.example.util;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated class or method only when the boolean {@link Config} key is {@code true}, so an
+ * opt-in suite can be switched on with {@code -Dload.enabled=true}, {@code LOAD_ENABLED=true} or
+ * {@code config.properties} alike. JUnit's {@code @EnabledIfSystemProperty} only sees the first.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(EnabledIfConfigCondition.class)
+public @interface EnabledIfConfig {
+
+    /**
+     * The {@link Config} key, e.g. {@code load.enabled}.
+     */
+    String value();
+}
@@ -0,0 +1,22 @@
+package com.example.util;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Evaluates {@link EnabledIfConfig}.
+ */
+public class EnabledIfConfigCondition implements ExecutionCondition {
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        return context.getElement()
+            .flatMap(element -> AnnotationSupport.findAnnotation(element, EnabledIfConfig.class))
+            .map(annotation -> Config.getBoolean(annotation.value(), false)
+                ? ConditionEvaluationResult.enabled(annotation.value() + " is true")
+                : ConditionEvaluationResult.disabled(annotation.value() + " is not true"))
+            .orElse(ConditionEvaluationResult.enabled("no @EnabledIfConfig"));
+    }
+}
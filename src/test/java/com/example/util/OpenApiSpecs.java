@@ -0,0 +1,158 @@
+package com.example.util;
+
+import com.atlassian.oai.validator.OpenApiInteractionValidator;
+import com.atlassian.oai.validator.report.MessageResolver;
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.atlassian.oai.validator.restassured.OpenApiValidationFilter;
+import com.atlassian.oai.validator.schema.SchemaValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.filter.Filter;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses each distinct OpenAPI document once per JVM (keyed by the SHA-256 of its content) and
+ * hands out validation filters built on the shared validator, so any test class can validate
+ * against the contract without re-fetching or re-parsing the spec.
+ *
+ * <p>Specs fetched over HTTP can additionally be cached on disk under {@code openapi.cache.dir}
+ * (default {@code target/openapi-cache}) by setting {@code openapi.cache.disk=true}; entries are
+ * reused for {@code openapi.cache.ttlSeconds} (default 600), which saves the fetch in later forks and runs.
+ */
+public final class OpenApiSpecs {
+
+    private static final String CLASSPATH_SPEC = "/openapi.json";
+
+    private static final Map<String, OpenApiInteractionValidator> VALIDATORS = new ConcurrentHashMap<>();
+    private static final Map<String, Filter> FILTERS = new ConcurrentHashMap<>();
+    private static final Map<String, ComponentSchema> SCHEMAS = new ConcurrentHashMap<>();
+    private static volatile String classpathSpec;
+
+    private OpenApiSpecs() {}
+
+    /**
+     * The bundled {@code openapi.json}, read once.
+     */
+    public static String classpathSpec() {
+        String spec = classpathSpec;
+        if (spec == null) {
+            try (InputStream in = OpenApiSpecs.class.getResourceAsStream(CLASSPATH_SPEC)) {
+                if (in == null) {
+                    throw new IllegalStateException(CLASSPATH_SPEC + " not found on classpath");
+                }
+                spec = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load " + CLASSPATH_SPEC + " from classpath", e);
+            }
+            classpathSpec = spec;
+        }
+        return spec;
+    }
+
+    public static OpenApiInteractionValidator validator(String specJson) {
+        return VALIDATORS.computeIfAbsent(sha256(specJson),
+            hash -> OpenApiInteractionValidator.createForInlineApiSpecification(specJson).build());
+    }
+
+    /**
+     * Validates single JSON values against {@code #/components/schemas/<name>} of {@code specJson},
+     * e.g. one element of a list response at a time.
+     */
+    public static ComponentSchema componentSchema(String specJson, String name) {
+        return SCHEMAS.computeIfAbsent(sha256(specJson) + "#" + name, key -> {
+            ParseOptions options = new ParseOptions();
+            options.setResolve(true);
+            OpenAPI api = new OpenAPIV3Parser().readContents(specJson, null, options).getOpenAPI();
+            Schema<?> schema = api.getComponents().getSchemas().get(name);
+            if (schema == null) {
+                throw new IllegalArgumentException("No component schema '" + name + "' in spec");
+            }
+            return new ComponentSchema(new SchemaValidator(api, new MessageResolver()), schema);
+        });
+    }
+
+    public record ComponentSchema(SchemaValidator validator, Schema<?> schema) {
+
+        public ValidationReport validate(JsonNode value) {
+            return validator.validate(() -> value, schema, null);
+        }
+    }
+
+    public static Filter filter(String specJson) {
+        return FILTERS.computeIfAbsent(sha256(specJson), hash -> new OpenApiValidationFilter(validator(specJson)));
+    }
+
+    public static Filter classpathFilter() {
+        return filter(classpathSpec());
+    }
+
+    public static OpenApiInteractionValidator validatorForUrl(String specUrl) {
+        return validator(fetch(specUrl));
+    }
+
+    /**
+     * Filter for the spec served at {@code specUrl}, e.g. {@code baseUrl + "/v3/api-docs"}.
+     */
+    public static Filter filterForUrl(String specUrl) {
+        return filter(fetch(specUrl));
+    }
+
+    private static String fetch(String specUrl) {
+        boolean diskCache = Config.getBoolean("openapi.cache.disk", false);
+        Path cached = Paths.get(Config.get("openapi.cache.dir", "target/openapi-cache"), sha256(specUrl) + ".json");
+        Duration ttl = Config.getDuration("openapi.cache.ttlSeconds", Duration.ofMinutes(10), ChronoUnit.SECONDS);
+        try {
+            if (diskCache && Files.exists(cached)
+                && Files.getLastModifiedTime(cached).toInstant().plus(ttl).isAfter(Instant.now())) {
+                return Files.readString(cached, StandardCharsets.UTF_8);
+            }
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(specUrl)).GET().build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + specUrl + " returned " + response.statusCode());
+            }
+            if (diskCache) {
+                Files.createDirectories(cached.getParent());
+                Files.writeString(cached, response.body(), StandardCharsets.UTF_8);
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to fetch OpenAPI spec from " + specUrl, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted fetching OpenAPI spec from " + specUrl, e);
+        }
+    }
+
+    private static String sha256(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Latency samples (ms) from earlier runs, one series per test ({@code test:Class#method}) and per
+ * endpoint ({@code endpoint:METHOD template}), stored as JSON. Each series keeps the samples of its
+ * newest {@code window} runs, at most {@code samplesPerRun} from each, so every run weighs the same
+ * however many calls it made and the baseline is a history rather than the last run's tail.
+ */
+public final class PerfBaseline {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, List<double[]>> series;
+    private final int runs;
+
+    private PerfBaseline(Map<String, List<double[]>> series, int runs) {
+        this.series = series;
+        this.runs = runs;
+    }
+
+    public static PerfBaseline load(Path file) {
+        if (!Files.exists(file)) {
+            return new PerfBaseline(new TreeMap<>(), 0);
+        }
+        try {
+            JsonNode root = MAPPER.readTree(file.toFile());
+            Map<String, List<double[]>> series = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = root.path("series").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                List<double[]> runs = new ArrayList<>();
+                JsonNode value = field.getValue();
+                if (value.size() > 0 && !value.get(0).isArray()) {
+                    // older files kept one flat list per series; read it as a single run
+                    runs.add(samples(value));
+                } else {
+                    value.forEach(run -> runs.add(samples(run)));
+                }
+                series.put(field.getKey(), runs);
+            }
+            return new PerfBaseline(series, root.path("runs").asInt());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read perf baseline " + file, e);
+        }
+    }
+
+    /**
+     * Every stored sample of the series, oldest run first.
+     */
+    public double[] get(String key) {
+        return series.getOrDefault(key, List.of()).stream().flatMapToDouble(Arrays::stream).toArray();
+    }
+
+    public int runs() {
+        return runs;
+    }
+
+    /**
+     * A copy with {@code current} added as the newest run of each series except {@code skipped},
+     * keeping the newest {@code window} runs. Runs with more than {@code samplesPerRun} samples are
+     * cut down to a uniform random subset drawn from {@code seed}.
+     */
+    public PerfBaseline merge(Map<String, double[]> current, Set<String> skipped, int window, int samplesPerRun, long seed) {
+        Map<String, List<double[]>> merged = new TreeMap<>();
+        series.forEach((key, runs) -> merged.put(key, new ArrayList<>(runs)));
+        current.forEach((key, samples) -> {
+            if (skipped.contains(key) || samples.length == 0) {
+                return;
+            }
+            List<double[]> runs = merged.computeIfAbsent(key, k -> new ArrayList<>());
+            runs.add(subsample(samples, samplesPerRun, new SplittableRandom(seed ^ key.hashCode() ^ this.runs)));
+            while (runs.size() > window) {
+                runs.remove(0);
+            }
+        });
+        return new PerfBaseline(merged, runs + 1);
+    }
+
+    public void save(Path file) {
+        ObjectNode root = MAPPER.createObjectNode()
+            .put("updatedAt", Instant.now().toString())
+            .put("runs", runs);
+        ObjectNode out = root.putObject("series");
+        series.forEach((key, runs) -> {
+            ArrayNode array = out.putArray(key);
+            for (double[] run : runs) {
+                ArrayNode samples = array.addArray();
+                // 0.01 ms resolution is plenty and keeps the file small
+                Arrays.stream(run).forEach(ms -> samples.add(Math.round(ms * 100) / 100.0));
+            }
+        });
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.writeString(file, MAPPER.writeValueAsString(root), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write perf baseline " + file, e);
+        }
+    }
+
+    private static double[] samples(JsonNode array) {
+        double[] samples = new double[array.size()];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = array.get(i).asDouble();
+        }
+        return samples;
+    }
+
+    // partial Fisher-Yates on a copy
+    private static double[] subsample(double[] samples, int size, SplittableRandom random) {
+        if (samples.length <= size) {
+            return samples.clone();
+        }
+        double[] copy = samples.clone();
+        for (int i = 0; i < size; i++) {
+            int j = i + random.nextInt(copy.length - i);
+            double swap = copy[i];
+            copy[i] = copy[j];
+            copy[j] = swap;
+        }
+        return Arrays.copyOf(copy, size);
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compares this run's latencies against the samples stored in {@link PerfBaseline}.
+ * <p>
+ * A series counts as regressed only when both hold: a one-sided Mann-Whitney U test says the
+ * current samples are stochastically larger ({@code p < perf.alpha}), and the lower bound of the
+ * bootstrapped 90% interval for the p95 difference exceeds {@code perf.maxP95Regression} of the
+ * baseline p95 and {@code perf.minDeltaMs}. The first condition filters out noise, the second
+ * filters out shifts that are significant but too small to matter.
+ * <p>
+ * {@code perf.gate=off} (default) does nothing; {@code warn} only reports; {@code fail} also fails
+ * each test whose own calls regressed. Endpoint series are checked once at the end of the run and
+ * reported in {@code target/perf-regressions.txt}, after which the baseline at
+ * {@code perf.baseline} is updated with this run's samples. Regressed series are left out of that
+ * update, so a regression that only warns does not become the new normal; run once with
+ * {@code perf.accept=true} to take an intended slowdown into the baseline.
+ */
+public final class PerfGate {
+
+    enum Mode { OFF, WARN, FAIL }
+
+    record Verdict(String key, int baselineN, int currentN, double baselineP95, double currentP95,
+                   double p95DeltaLow, double pValue, boolean regressed) {
+
+        String line() {
+            return String.format("%-60s %6d %6d %9.1f %9.1f %+7.0f%% %8.4f  %s",
+                key, baselineN, currentN, baselineP95, currentP95,
+                baselineP95 == 0 ? 0 : (currentP95 - baselineP95) / baselineP95 * 100, pValue,
+                regressed ? "REGRESSED" : "ok");
+        }
+    }
+
+    private static final String HEADER = String.format("%-60s %6s %6s %9s %9s %8s %8s  %s",
+        "series", "base n", "cur n", "base p95", "cur p95", "delta", "p-value", "verdict");
+
+    private static volatile PerfGate instance;
+
+    private final Mode mode;
+    private final Path baselineFile;
+    private final PerfBaseline baseline;
+    private final double alpha;
+    private final double maxP95Regression;
+    private final double minDeltaMs;
+    private final int minSamples;
+    private final int bootstrap;
+    private final int window;
+    private final int samplesPerRun;
+    private final boolean accept;
+    private final long seed;
+    private final Map<String, double[]> testSamples = new TreeMap<>();
+    private final List<Verdict> verdicts = new ArrayList<>();
+
+    private PerfGate(Mode mode) {
+        this.mode = mode;
+        this.baselineFile = Paths.get(Config.get("perf.baseline", "target/perf-baseline.json"));
+        this.baseline = PerfBaseline.load(baselineFile);
+        this.alpha = Config.getDouble("perf.alpha", 0.01);
+        this.maxP95Regression = Config.getDouble("perf.maxP95Regression", 0.2);
+        this.minDeltaMs = Config.getDouble("perf.minDeltaMs", 2);
+        this.minSamples = Config.getInt("perf.minSamples", 5);
+        this.bootstrap = Config.getInt("perf.bootstrap", 1000);
+        this.window = Config.getInt("perf.window", 10);
+        this.samplesPerRun = Config.getInt("perf.samplesPerRun", 200);
+        this.accept = Config.getBoolean("perf.accept", false);
+        this.seed = Config.getLong("perf.seed", 42);
+    }
+
+    /**
+     * The gate for this run, or {@code null} when {@code perf.gate} is {@code off}.
+     */
+    static PerfGate ifEnabled() {
+        PerfGate gate = instance;
+        if (gate == null) {
+            synchronized (PerfGate.class) {
+                gate = instance;
+                if (gate == null) {
+                    Mode mode = Mode.valueOf(Config.get("perf.gate", "off").trim().toUpperCase());
+                    gate = mode == Mode.OFF ? null : new PerfGate(mode);
+                    if (gate != null) {
+                        instance = gate;
+                    }
+                }
+            }
+        }
+        return gate;
+    }
+
+    /**
+     * Records the samples of one test and checks them against its baseline series.
+     *
+     * @throws AssertionError if the test regressed and {@code perf.gate=fail}
+     */
+    void checkTest(String testId, double[] samples) {
+        String key = "test:" + testId;
+        synchronized (this) {
+            testSamples.merge(key, samples, PerfGate::concat);
+        }
+        Verdict verdict = compare(key, baseline.get(key), samples);
+        if (verdict == null || !verdict.regressed()) {
+            return;
+        }
+        synchronized (this) {
+            verdicts.add(verdict);
+        }
+        String message = "Latency regression against baseline:\n" + HEADER + "\n" + verdict.line();
+        if (mode == Mode.FAIL) {
+            throw new AssertionError(message);
+        }
+        System.out.println(message);
+    }
+
+    /**
+     * Checks the run-wide endpoint series, writes {@code target/perf-regressions.txt} and folds
+     * the series of this run that did not regress into the baseline.
+     */
+    synchronized void finishRun(ApiTimings run) {
+        Map<String, double[]> current = new TreeMap<>(testSamples);
+        run.samplesByEndpoint().forEach((endpoint, samples) -> current.put("endpoint:" + endpoint, samples));
+
+        List<Verdict> endpointVerdicts = new ArrayList<>();
+        current.forEach((key, samples) -> {
+            if (key.startsWith("endpoint:")) {
+                Verdict verdict = compare(key, baseline.get(key), samples);
+                if (verdict != null) {
+                    endpointVerdicts.add(verdict);
+                }
+            }
+        });
+
+        StringBuilder report = new StringBuilder()
+            .append("Baseline: ").append(baselineFile).append(" (").append(baseline.runs()).append(" earlier runs)\n")
+            .append(HEADER).append('\n');
+        endpointVerdicts.forEach(v -> report.append(v.line()).append('\n'));
+        verdicts.forEach(v -> report.append(v.line()).append('\n'));
+        long regressed = endpointVerdicts.stream().filter(Verdict::regressed).count() + verdicts.size();
+        report.append(regressed).append(" regressed series");
+        Set<String> skipped = new TreeSet<>();
+        if (!accept) {
+            endpointVerdicts.stream().filter(Verdict::regressed).forEach(v -> skipped.add(v.key()));
+            verdicts.forEach(v -> skipped.add(v.key()));
+            if (regressed > 0) {
+                report.append(", not added to the baseline (perf.accept=true to accept them)");
+            }
+        }
+        report.append('\n');
+        try {
+            Files.createDirectories(Paths.get("target"));
+            Files.writeString(Paths.get("target", "perf-regressions.txt"), report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Could not write target/perf-regressions.txt: " + e.getMessage());
+        }
+        if (regressed > 0) {
+            System.out.println(report);
+        }
+        baseline.merge(current, skipped, window, samplesPerRun, seed).save(baselineFile);
+    }
+
+    /**
+     * {@code null} when either side has fewer than {@code perf.minSamples} samples.
+     */
+    Verdict compare(String key, double[] base, double[] current) {
+        if (base.length < minSamples || current.length < minSamples) {
+            return null;
+        }
+        double baseP95 = percentile(base, 0.95);
+        double currentP95 = percentile(current, 0.95);
+        double p = mannWhitneyGreater(current, base);
+        double deltaLow = bootstrapP95DeltaLow(current, base, bootstrap, new SplittableRandom(seed ^ key.hashCode()));
+        boolean regressed = p < alpha
+            && deltaLow > maxP95Regression * baseP95
+            && deltaLow > minDeltaMs;
+        return new Verdict(key, base.length, current.length, baseP95, currentP95, deltaLow, p, regressed);
+    }
+
+    /**
+     * One-sided p-value that {@code x} tends to be larger than {@code y}, using the normal
+     * approximation with tie correction and continuity correction.
+     */
+    static double mannWhitneyGreater(double[] x, double[] y) {
+        int n1 = x.length;
+        int n2 = y.length;
+        int n = n1 + n2;
+        double[][] all = new double[n][];
+        for (int i = 0; i < n1; i++) {
+            all[i] = new double[] {x[i], 0};
+        }
+        for (int i = 0; i < n2; i++) {
+            all[n1 + i] = new double[] {y[i], 1};
+        }
+        Arrays.sort(all, (a, b) -> Double.compare(a[0], b[0]));
+
+        double rankSumX = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && all[j + 1][0] == all[i][0]) {
+                j++;
+            }
+            double rank = (i + j) / 2.0 + 1;
+            for (int k = i; k <= j; k++) {
+                if (all[k][1] == 0) {
+                    rankSumX += rank;
+                }
+            }
+            double t = j - i + 1;
+            tieTerm += t * t * t - t;
+            i = j + 1;
+        }
+        double u = rankSumX - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+
+    /**
+     * 5th percentile of the bootstrapped distribution of {@code p95(x) - p95(y)}, i.e. the lower
+     * end of a 90% interval.
+     */
+    static double bootstrapP95DeltaLow(double[] x, double[] y, int iterations, SplittableRandom random) {
+        double[] deltas = new double[iterations];
+        double[] bx = new double[x.length];
+        double[] by = new double[y.length];
+        for (int i = 0; i < iterations; i++) {
+            for (int k = 0; k < bx.length; k++) {
+                bx[k] = x[random.nextInt(x.length)];
+            }
+            for (int k = 0; k < by.length; k++) {
+                by[k] = y[random.nextInt(y.length)];
+            }
+            deltas[i] = percentile(bx, 0.95) - percentile(by, 0.95);
+        }
+        return percentile(deltas, 0.05);
+    }
+
+    /**
+     * Nearest-rank percentile; sorts a copy.
+     */
+    static double percentile(double[] values, double q) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(q * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    // Abramowitz and Stegun 7.1.26, absolute error below 1.5e-7
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+            + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    private static double[] concat(double[] a, double[] b) {
+        double[] out = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+}
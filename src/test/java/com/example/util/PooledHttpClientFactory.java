@@ -0,0 +1,272 @@
+package com.example.util;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The HTTP client behind every {@link Api} spec. REST Assured asks for a new client per request;
+ * each one gets a fresh {@link DefaultHttpClient} on top of one run-wide
+ * {@link PoolingClientConnectionManager}, so connections are kept alive and reused across
+ * requests, tests and threads instead of being opened per call. The scheme registry (and with it
+ * the SSL context) is shared as well, so new TLS connections to the same host resume the cached
+ * session instead of doing a full handshake. Bodies are not buffered here; a connection returns to
+ * the pool once its body is read or closed, which {@link ConnectionReleaseFilter} ensures for
+ * every call that is not {@link Api#streaming streamed}.
+ * <p>
+ * Sizing: {@code http.maxPerRoute} (default 20) and {@code http.maxTotal} (default 200);
+ * idle connections are kept for {@code http.keepAliveMs} (default 30000) unless the server's
+ * {@code Keep-Alive} header says less; waiting for a free connection gives up after
+ * {@code http.poolTimeoutMs} (default 30000). {@link #stats()} reports how often connections were reused.
+ * <p>
+ * The same hooks time DNS resolution, connection setup (TCP and, for https, the TLS handshake)
+ * and time to first byte into the {@link ApiTimings.Call} of the current thread when
+ * {@link ApiTimingFilter} is active, and count the response bytes as the body is read.
+ */
+@SuppressWarnings("deprecation") // REST Assured 5 still drives the HttpClient 4.x classic API
+public final class PooledHttpClientFactory implements HttpClientConfig.HttpClientFactory {
+
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final LongAdder CONNECTIONS_OPENED = new LongAdder();
+
+    private static final DnsResolver TIMED_DNS = host -> {
+        long start = System.nanoTime();
+        try {
+            return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+        } finally {
+            ApiTimings.Call call = ApiTimingFilter.current();
+            if (call != null) {
+                call.dnsNanos += System.nanoTime() - start;
+            }
+        }
+    };
+
+    private static final HttpRequestInterceptor REQUEST_SENT = (request, context) -> {
+        REQUESTS.increment();
+        ApiTimings.Call call = ApiTimingFilter.current();
+        if (call != null) {
+            call.requestSentAt = System.nanoTime();
+        }
+    };
+
+    private static final HttpResponseInterceptor FIRST_BYTE = (response, context) -> {
+        ApiTimings.Call call = ApiTimingFilter.current();
+        if (call != null && call.requestSentAt != 0) {
+            call.ttfbNanos = System.nanoTime() - call.requestSentAt;
+        }
+    };
+
+    // counts body bytes as whoever reads the entity consumes it, so ApiTimingFilter never reads the body itself
+    private static final HttpResponseInterceptor COUNT_BYTES = (response, context) -> {
+        ApiTimings.Call call = ApiTimingFilter.current();
+        HttpEntity entity = response.getEntity();
+        if (call != null && entity != null) {
+            response.setEntity(new CountingEntity(entity, call));
+        }
+    };
+
+    // after the hooks above, which the constructor wires in
+    static final PooledHttpClientFactory INSTANCE = new PooledHttpClientFactory();
+
+    private final PoolingClientConnectionManager pool;
+    private final ConnectionKeepAliveStrategy keepAlive;
+    private final long poolTimeoutMs = Config.getDuration("http.poolTimeoutMs", Duration.ofSeconds(30)).toMillis();
+
+    private PooledHttpClientFactory() {
+        long keepAliveMs = Config.getDuration("http.keepAliveMs", Duration.ofSeconds(30)).toMillis();
+        pool = new PoolingClientConnectionManager(timedSchemes(), keepAliveMs, TimeUnit.MILLISECONDS, TIMED_DNS);
+        pool.setDefaultMaxPerRoute(Config.getInt("http.maxPerRoute", 20));
+        pool.setMaxTotal(Config.getInt("http.maxTotal", 200));
+        keepAlive = (response, context) -> {
+            HeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (it.hasNext()) {
+                HeaderElement element = it.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Math.min(keepAliveMs, Long.parseLong(element.getValue()) * 1000);
+                    } catch (NumberFormatException ignored) {
+                        // fall back to our own limit
+                    }
+                }
+            }
+            return keepAliveMs;
+        };
+    }
+
+    @Override
+    public AbstractHttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient() {
+            @Override
+            protected ClientConnectionManager createClientConnectionManager() {
+                return pool;
+            }
+        };
+        client.setKeepAliveStrategy(keepAlive);
+        // fail fast instead of hanging if the pool runs dry, e.g. because a response was never consumed
+        client.getParams().setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, poolTimeoutMs);
+        // without client certificates connections carry no user state, so any request may reuse them
+        client.setUserTokenHandler(context -> null);
+        // request interceptors run once the connection is open, response interceptors once headers arrive
+        client.addRequestInterceptor(REQUEST_SENT);
+        client.addResponseInterceptor(FIRST_BYTE, 0);
+        client.addResponseInterceptor(COUNT_BYTES);
+        return client;
+    }
+
+    /**
+     * Requests sent and connections opened since the start of the run, plus the pool's current state.
+     */
+    public static Stats stats() {
+        PoolStats pool = INSTANCE.pool.getTotalStats();
+        return new Stats(REQUESTS.sum(), CONNECTIONS_OPENED.sum(), pool.getLeased(), pool.getAvailable(), pool.getMax());
+    }
+
+    public record Stats(long requests, long connectionsOpened, int leased, int idle, int max) {
+
+        public double reuseRate() {
+            return requests == 0 ? 0 : Math.max(0, 1 - (double) connectionsOpened / requests);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("HTTP connections: %d requests over %d connections (%.0f%% reused); pool %d leased, %d idle, max %d",
+                requests, connectionsOpened, reuseRate() * 100, leased, idle, max);
+        }
+    }
+
+    private static SchemeRegistry timedSchemes() {
+        SchemeRegistry defaults = SchemeRegistryFactory.createDefault();
+        SchemeRegistry timed = new SchemeRegistry();
+        for (String name : defaults.getSchemeNames()) {
+            Scheme scheme = defaults.getScheme(name);
+            SchemeSocketFactory factory = scheme.getSchemeSocketFactory();
+            timed.register(new Scheme(name, scheme.getDefaultPort(), factory instanceof SchemeLayeredSocketFactory
+                ? new TimedLayeredSocketFactory((SchemeLayeredSocketFactory) factory)
+                : new TimedSocketFactory(factory)));
+        }
+        return timed;
+    }
+
+    private static final class CountingEntity extends HttpEntityWrapper {
+
+        private final ApiTimings.Call call;
+
+        CountingEntity(HttpEntity entity, ApiTimings.Call call) {
+            super(entity);
+            this.call = call;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        call.bytes++;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int off, int len) throws IOException {
+                    int n = super.read(buffer, off, len);
+                    if (n > 0) {
+                        call.bytes += n;
+                    }
+                    return n;
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (InputStream in = getContent()) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    private static class TimedSocketFactory implements SchemeSocketFactory {
+
+        private final SchemeSocketFactory delegate;
+
+        TimedSocketFactory(SchemeSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpParams params) throws IOException {
+            return delegate.createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket sock, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException, UnknownHostException, ConnectTimeoutException {
+            long start = System.nanoTime();
+            try {
+                return delegate.connectSocket(sock, remoteAddress, localAddress, params);
+            } finally {
+                CONNECTIONS_OPENED.increment();
+                ApiTimings.Call call = ApiTimingFilter.current();
+                if (call != null) {
+                    call.connectNanos += System.nanoTime() - start;
+                    call.connections++;
+                }
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket sock) {
+            return delegate.isSecure(sock);
+        }
+    }
+
+    private static final class TimedLayeredSocketFactory extends TimedSocketFactory implements SchemeLayeredSocketFactory {
+
+        private final SchemeLayeredSocketFactory layered;
+
+        TimedLayeredSocketFactory(SchemeLayeredSocketFactory delegate) {
+            super(delegate);
+            this.layered = delegate;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params) throws IOException {
+            return layered.createLayeredSocket(socket, target, port, params);
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Records real API traffic into WireMock mappings so stub mode replays real payloads and timing
+ * instead of hand-written bodies.
+ *
+ * <p>With {@code record.enabled=true} and a real {@code baseUrl}, every call made through
+ * {@link Api} specs is captured as a request/response pair. Pairs are deduplicated by method, path
+ * template (the path as written in the test, e.g. {@code /api/customers/{id}}), {@code Authorization}
+ * header and the set of top-level fields in the JSON request body, keeping the first body of the
+ * most frequent status; the mapping matches on all four, so a request missing a field or a token
+ * replays its own response. The header is matched by scheme only ({@code Bearer ...}) unless
+ * {@code record.keepAuthValues=true}, for suites whose tokens are test fixtures rather than secrets.
+ *
+ * <p>Response bodies are redacted before they are kept: string values of the fields in
+ * {@code record.redactFields} (default {@code name,email,phone}) are masked character by character,
+ * keeping their length and shape. Bodies over {@code record.maxBodyBytes} (default 64 KiB) are cut
+ * to the array elements that fit, or dropped if they are not an array. At JVM exit the mappings are
+ * written to {@code record.dir} (default {@code target/recorded-mappings}) with a log-normal delay
+ * fitted to the observed latencies; review them and copy them to
+ * {@code src/test/resources/mappings/recorded}, where {@link StubNamespace#replayRecorded()} loads
+ * them from.
+ */
+public final class RecordingFilter implements Filter {
+
+    static final String RECORDED_RESOURCE = "/mappings/recorded";
+
+    private static final Pattern PATH_PARAM = Pattern.compile("\\{[^}]+}");
+    private static final Pattern AUTH_SCHEME = Pattern.compile("^(\\S+)\\s+.*");
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static volatile RecordingFilter shared;
+    private static volatile List<ObjectNode> recorded;
+
+    private final Path outputDir;
+    private final boolean keepAuthValues;
+    private final Set<String> redactFields;
+    private final int maxBodyBytes;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private RecordingFilter(Path outputDir, boolean keepAuthValues, Set<String> redactFields, int maxBodyBytes) {
+        this.outputDir = outputDir;
+        this.keepAuthValues = keepAuthValues;
+        this.redactFields = redactFields;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * The shared filter when {@code record.enabled} is on and a real {@code baseUrl} is configured.
+     */
+    public static Optional<Filter> ifEnabled() {
+        if (!Config.getBoolean("record.enabled", false) || Config.getBaseUrl().isBlank()) {
+            return Optional.empty();
+        }
+        RecordingFilter filter = shared;
+        if (filter == null) {
+            synchronized (RecordingFilter.class) {
+                if (shared == null) {
+                    shared = new RecordingFilter(
+                        Paths.get(Config.get("record.dir", "target/recorded-mappings")),
+                        Config.getBoolean("record.keepAuthValues", false),
+                        Arrays.stream(Config.get("record.redactFields", "name,email,phone").split(","))
+                            .map(String::trim).filter(f -> !f.isEmpty()).collect(Collectors.toSet()),
+                        Config.getInt("record.maxBodyBytes", 64 * 1024));
+                    Runtime.getRuntime().addShutdownHook(new Thread(shared::writeMappings, "recording-writer"));
+                }
+                filter = shared;
+            }
+        }
+        return Optional.of(filter);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long elapsedMicros = (System.nanoTime() - start) / 1_000;
+        if (Api.isStreaming(requestSpec)) {
+            // the body is the caller's to read; the endpoint is recorded from its buffered calls
+            return response;
+        }
+
+        String basePath = requestSpec.getBasePath();
+        String template = (basePath == null || basePath.equals("/") ? "" : basePath) + requestSpec.getUserDefinedPath();
+        String auth = authMatcher(requestSpec.getHeaders().getValue("Authorization"));
+        List<String> bodyFields = bodyFields(requestSpec.getBody());
+        String key = requestSpec.getMethod() + " " + template + " " + auth + " " + bodyFields;
+        Endpoint endpoint = endpoints.computeIfAbsent(key,
+            k -> new Endpoint(requestSpec.getMethod(), template, auth, bodyFields, Integer.toHexString(k.hashCode())));
+        endpoint.record(response.statusCode(), response.getContentType(),
+            () -> redactAndCap(response.getContentType(), response.asByteArray()), elapsedMicros);
+        return response;
+    }
+
+    /**
+     * {@code absent}, the scheme ({@code Bearer}) or, with {@code record.keepAuthValues}, the whole value.
+     */
+    private String authMatcher(String authorization) {
+        if (authorization == null) {
+            return "absent";
+        }
+        if (keepAuthValues) {
+            return "=" + authorization;
+        }
+        Matcher scheme = AUTH_SCHEME.matcher(authorization);
+        return scheme.matches() ? scheme.group(1) : "present";
+    }
+
+    // the request body as sent: a String, bytes, or an object REST Assured serialized
+    private static List<String> bodyFields(Object body) {
+        JsonNode json;
+        if (body == null) {
+            return List.of();
+        } else if (body instanceof String || body instanceof byte[]) {
+            String text = body instanceof String ? (String) body : new String((byte[]) body, StandardCharsets.UTF_8);
+            json = tryParse(text);
+        } else {
+            json = MAPPER.valueToTree(body);
+        }
+        if (json == null || !json.isObject()) {
+            return List.of();
+        }
+        List<String> fields = new ArrayList<>();
+        json.fieldNames().forEachRemaining(fields::add);
+        Collections.sort(fields);
+        return fields;
+    }
+
+    private Body redactAndCap(String contentType, byte[] raw) {
+        JsonNode json = contentType != null && contentType.contains("json") && raw.length > 0
+            ? tryParse(new String(raw, StandardCharsets.UTF_8)) : null;
+        if (json == null) {
+            return raw.length <= maxBodyBytes
+                ? new Body(new String(raw, StandardCharsets.UTF_8), null, raw.length)
+                : new Body(null, null, raw.length);
+        }
+        redact(json);
+        if (json.isArray()) {
+            ArrayNode kept = MAPPER.createArrayNode();
+            int size = 2;
+            for (JsonNode element : json) {
+                size += element.toString().length() + 1;
+                if (size > maxBodyBytes) {
+                    break;
+                }
+                kept.add(element);
+            }
+            return new Body(null, kept, raw.length);
+        }
+        return json.toString().length() <= maxBodyBytes ? new Body(null, json, raw.length) : new Body(null, null, raw.length);
+    }
+
+    private void redact(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            List<String> names = new ArrayList<>();
+            object.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                JsonNode value = object.get(name);
+                if (value.isTextual() && redactFields.contains(name)) {
+                    object.put(name, mask(value.asText()));
+                } else {
+                    redact(value);
+                }
+            }
+        } else if (node.isArray()) {
+            node.forEach(this::redact);
+        }
+    }
+
+    // same length and shape, so formats (email, E.164 phone) and payload sizes survive
+    static String mask(String value) {
+        StringBuilder masked = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            masked.append(Character.isDigit(c) ? '1' : Character.isUpperCase(c) ? 'X' : Character.isLetter(c) ? 'x' : c);
+        }
+        return masked.toString();
+    }
+
+    private static JsonNode tryParse(String text) {
+        try {
+            return MAPPER.readTree(text);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private void writeMappings() {
+        try {
+            Files.createDirectories(outputDir);
+            for (Endpoint endpoint : endpoints.values()) {
+                Files.writeString(outputDir.resolve(endpoint.fileName()),
+                    MAPPER.writeValueAsString(endpoint.toMapping()), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write recorded mappings to " + outputDir + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The recorded mappings on the test classpath, read once per JVM; empty if none were recorded.
+     */
+    static List<ObjectNode> recordedMappings() {
+        List<ObjectNode> mappings = recorded;
+        if (mappings == null) {
+            synchronized (RecordingFilter.class) {
+                if (recorded == null) {
+                    recorded = readRecorded();
+                }
+                mappings = recorded;
+            }
+        }
+        return mappings;
+    }
+
+    private static List<ObjectNode> readRecorded() {
+        URL dir = RecordingFilter.class.getResource(RECORDED_RESOURCE);
+        if (dir == null) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(Paths.get(dir.toURI()))) {
+            List<ObjectNode> mappings = new ArrayList<>();
+            for (Path file : files.filter(f -> f.toString().endsWith(".json")).sorted().collect(Collectors.toList())) {
+                mappings.add((ObjectNode) MAPPER.readTree(file.toFile()));
+            }
+            // WireMock prefers the newest of equal-priority matches, so the most specific mapping goes last
+            mappings.sort(Comparator.comparingInt(m -> m.path("metadata").path("recorded").path("specificity").asInt()));
+            return Collections.unmodifiableList(mappings);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read recorded mappings from " + dir, e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Everything seen for one method + path template + request shape.
+     */
+    private static final class Endpoint {
+
+        private final String method;
+        private final String template;
+        private final String auth;
+        private final List<String> bodyFields;
+        private final String id;
+        private final Map<Integer, Sample> samplesByStatus = new ConcurrentHashMap<>();
+
+        Endpoint(String method, String template, String auth, List<String> bodyFields, String id) {
+            this.method = method;
+            this.template = template;
+            this.auth = auth;
+            this.bodyFields = bodyFields;
+            this.id = id;
+        }
+
+        // the body is only read, redacted and kept for the first response of each status
+        void record(int status, String contentType, Supplier<Body> body, long elapsedMicros) {
+            samplesByStatus.computeIfAbsent(status, s -> new Sample(contentType, body.get())).add(elapsedMicros);
+        }
+
+        String fileName() {
+            return method.toLowerCase() + template.replaceAll("[^A-Za-z0-9]+", "-").replaceAll("-+$", "") + "-" + id + ".json";
+        }
+
+        ObjectNode toMapping() throws JsonProcessingException {
+            Map.Entry<Integer, Sample> main = samplesByStatus.entrySet().stream()
+                .max(Comparator.comparingInt(e -> e.getValue().count()))
+                .orElseThrow();
+            Sample sample = main.getValue();
+            double[] latencies = sample.latenciesMs();
+
+            ObjectNode mapping = MAPPER.createObjectNode();
+            ObjectNode request = mapping.putObject("request").put("method", method);
+            if (PATH_PARAM.matcher(template).find()) {
+                request.put("urlPathPattern", toRegex(template));
+            } else {
+                request.put("urlPath", template);
+            }
+            ObjectNode authorization = request.putObject("headers").putObject("Authorization");
+            if (auth.equals("absent")) {
+                authorization.put("absent", true);
+            } else if (auth.startsWith("=")) {
+                authorization.put("equalTo", auth.substring(1));
+            } else if (auth.equals("present")) {
+                authorization.put("matches", ".+");
+            } else {
+                authorization.put("matches", Pattern.quote(auth) + "\\s+.+");
+            }
+            if (!bodyFields.isEmpty()) {
+                ArrayNode patterns = request.putArray("bodyPatterns");
+                bodyFields.forEach(field -> patterns.addObject().put("matchesJsonPath", "$['" + field.replace("'", "\\'") + "']"));
+            }
+
+            ObjectNode response = mapping.putObject("response").put("status", main.getKey());
+            if (sample.contentType != null && !sample.contentType.isEmpty()) {
+                response.putObject("headers").put("Content-Type", sample.contentType);
+            }
+            Body body = sample.body;
+            if (body.json() != null) {
+                response.set("jsonBody", body.json());
+            } else if (body.text() != null && !body.text().isEmpty()) {
+                response.put("body", body.text());
+            }
+            double median = percentile(latencies, 0.5);
+            double sigma = logSigma(latencies);
+            if (sigma > 0) {
+                response.putObject("delayDistribution").put("type", "lognormal").put("median", Math.round(median)).put("sigma", sigma);
+            } else {
+                response.put("fixedDelayMilliseconds", Math.round(median));
+            }
+
+            mapping.putObject("metadata").putObject("recorded")
+                .put("at", Instant.now().toString())
+                .put("samples", latencies.length)
+                .put("p50Ms", median)
+                .put("p99Ms", percentile(latencies, 0.99))
+                .put("statuses", samplesByStatus.keySet().stream().sorted().map(String::valueOf).collect(Collectors.joining(",")))
+                .put("specificity", 1 + bodyFields.size())
+                .put("bodyBytes", body.originalBytes());
+            return mapping;
+        }
+
+        private static String toRegex(String template) {
+            StringBuilder regex = new StringBuilder();
+            Matcher matcher = PATH_PARAM.matcher(template);
+            int last = 0;
+            while (matcher.find()) {
+                regex.append(escape(template.substring(last, matcher.start()))).append("[^/]+");
+                last = matcher.end();
+            }
+            return regex.append(escape(template.substring(last))).toString();
+        }
+
+        private static String escape(String literal) {
+            return literal.replaceAll("([\\\\.\\[\\](){}*+?^$|])", "\\\\$1");
+        }
+
+        private static double percentile(double[] sorted, double quantile) {
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        private static double logSigma(double[] latencies) {
+            if (latencies.length < 3) {
+                return 0;
+            }
+            double mean = Arrays.stream(latencies).map(ms -> Math.log(Math.max(ms, 0.1))).average().orElse(0);
+            double variance = Arrays.stream(latencies)
+                .map(ms -> Math.pow(Math.log(Math.max(ms, 0.1)) - mean, 2))
+                .sum() / (latencies.length - 1);
+            return Math.round(Math.sqrt(variance) * 1000) / 1000.0;
+        }
+    }
+
+    /**
+     * A redacted response body: parsed JSON (an array possibly cut short), text, or neither when it
+     * was over the size cap; {@code originalBytes} is what the API sent.
+     */
+    private record Body(String text, JsonNode json, int originalBytes) {}
+
+    private static final class Sample {
+
+        private final String contentType;
+        private final Body body;
+        private final List<Long> latenciesMicros = new ArrayList<>();
+
+        Sample(String contentType, Body body) {
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        synchronized void add(long micros) {
+            latenciesMicros.add(micros);
+        }
+
+        synchronized int count() {
+            return latenciesMicros.size();
+        }
+
+        synchronized double[] latenciesMs() {
+            return latenciesMicros.stream().mapToDouble(us -> us / 1000.0).sorted().toArray();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.util;
+
+/**
+ * Names for JUnit {@code @ResourceLock}s shared by test classes that must not overlap when the
+ * suite runs in parallel.
+ */
+public final class ResourceLocks {
+
+    /** Held by tests that depend on, or delete, specific customers in the API under test. */
+    public static final String CUSTOMERS = "customers";
+
+    private ResourceLocks() {}
+}
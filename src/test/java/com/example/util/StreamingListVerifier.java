@@ -0,0 +1,253 @@
+package com.example.util;
+
+import com.atlassian.oai.validator.report.ValidationReport;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies list endpoints without holding the response in memory, e.g.
+ * {@code StreamingListVerifier.of(spec, "/api/customers").schema("Customer").verify().assertValid()}.
+ * <p>
+ * The body is read with Jackson's streaming parser straight off the socket; each element is
+ * validated against an OpenAPI component schema, counted and reservoir-sampled, then dropped.
+ * Pages are requested through {@link Api#streaming} on the given spec, so they share its pooled
+ * client, headers, auth and filters (contract validation covers status and headers there, the
+ * elements are checked here). Both a top-level array and an object wrapping the items
+ * ({@code {"items": [...], "nextCursor": "..."}}) are understood, and further pages are followed
+ * through a {@code Link: <...>; rel="next"} header or the cursor field.
+ */
+public final class StreamingListVerifier {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>\\s*;[^,]*rel=\"?next\"?");
+    private static final int MAX_VIOLATIONS_KEPT = 20;
+
+    private final FilterableRequestSpecification spec;
+    private final String path;
+    private OpenApiSpecs.ComponentSchema schema;
+    private int sampleSize = 10;
+    private int maxPages = 1_000;
+    private String itemsField = "items";
+    private String cursorField = "nextCursor";
+    private String cursorParam = "cursor";
+
+    private StreamingListVerifier(RequestSpecification spec, String path) {
+        this.spec = (FilterableRequestSpecification) spec;
+        this.path = path;
+    }
+
+    public static StreamingListVerifier of(RequestSpecification spec, String path) {
+        return new StreamingListVerifier(spec, path);
+    }
+
+    /**
+     * Validates every element against this component schema of the bundled {@code openapi.json}.
+     */
+    public StreamingListVerifier schema(String componentName) {
+        this.schema = OpenApiSpecs.componentSchema(OpenApiSpecs.classpathSpec(), componentName);
+        return this;
+    }
+
+    public StreamingListVerifier sample(int size) {
+        this.sampleSize = size;
+        return this;
+    }
+
+    public StreamingListVerifier maxPages(int maxPages) {
+        this.maxPages = maxPages;
+        return this;
+    }
+
+    /**
+     * For wrapped pages: the array field holding the items (default {@code items}), the field
+     * carrying the next cursor (default {@code nextCursor}) and the query parameter it is sent
+     * back in (default {@code cursor}).
+     */
+    public StreamingListVerifier paging(String itemsField, String cursorField, String cursorParam) {
+        this.itemsField = itemsField;
+        this.cursorField = cursorField;
+        this.cursorParam = cursorParam;
+        return this;
+    }
+
+    /**
+     * Walks every page and fails on a non-200 status or a body that is not a list.
+     */
+    public Result verify() {
+        Result.Builder result = new Result.Builder(sampleSize);
+        String next = path;
+        while (next != null && result.pages < maxPages) {
+            next = readPage(next, result);
+        }
+        return result.build();
+    }
+
+    /**
+     * Reads one page ({@code url} relative to the spec's base URI, or absolute, already encoded)
+     * and returns the URL of the next one, if any.
+     */
+    private String readPage(String url, Result.Builder result) {
+        Response response = Api.streaming(spec)
+            .urlEncodingEnabled(false)
+            .header("Accept-Encoding", "gzip")
+            .when()
+            .get(url);
+        String cursor;
+        try (InputStream body = decoded(response)) {
+            Assertions.assertEquals(200, response.statusCode(), "GET " + url);
+            cursor = readBody(body, url, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + url, e);
+        }
+        result.pages++;
+        Matcher link = NEXT_LINK.matcher(Optional.ofNullable(response.getHeader("Link")).orElse(""));
+        if (link.find()) {
+            String base = baseUri();
+            String resolved = URI.create(url.startsWith("http") ? url : base + url).resolve(link.group(1)).toString();
+            return resolved.startsWith(base + "/") ? resolved.substring(base.length()) : resolved;
+        }
+        return cursor == null ? null : path + (path.contains("?") ? "&" : "?")
+            + cursorParam + "=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+    }
+
+    // REST Assured's decoders are off for streamed calls, so compression is undone here
+    private static InputStream decoded(Response response) throws IOException {
+        InputStream body = response.asInputStream();
+        if (!"gzip".equalsIgnoreCase(response.getHeader("Content-Encoding"))) {
+            return body;
+        }
+        try {
+            return new GZIPInputStream(body);
+        } catch (IOException e) {
+            body.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Consumes one page and returns its next cursor, if any.
+     */
+    private String readBody(InputStream body, String url, Result.Builder result) throws IOException {
+        String cursor = null;
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                readItems(parser, result);
+            } else if (token == JsonToken.START_OBJECT) {
+                boolean sawItems = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (field.equals(itemsField) && value == JsonToken.START_ARRAY) {
+                        readItems(parser, result);
+                        sawItems = true;
+                    } else if (field.equals(cursorField) && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                        cursor = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                Assertions.assertTrue(sawItems, "GET " + url + ": object body without an '" + itemsField + "' array");
+            } else {
+                Assertions.fail("GET " + url + ": expected a JSON array or object, got " + token);
+            }
+        }
+        return cursor;
+    }
+
+    private void readItems(JsonParser parser, Result.Builder result) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            JsonNode element = parser.readValueAsTree();
+            if (schema != null) {
+                ValidationReport report = schema.validate(element);
+                if (report.hasErrors()) {
+                    result.invalid(element, report);
+                }
+            }
+            result.add(element);
+        }
+    }
+
+    private String baseUri() {
+        String base = spec.getBaseUri();
+        String basePath = spec.getBasePath();
+        if (basePath != null && !basePath.isEmpty() && !basePath.equals("/")) {
+            base += basePath.startsWith("/") ? basePath : "/" + basePath;
+        }
+        return base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+    }
+
+    /**
+     * Element count over all pages, a uniform sample of elements, and the schema violations found
+     * (all counted, the first {@value #MAX_VIOLATIONS_KEPT} kept).
+     */
+    public record Result(long count, int pages, List<JsonNode> sample, long invalid, List<String> violations) {
+
+        public Result assertValid() {
+            if (invalid > 0) {
+                Assertions.fail(invalid + " of " + count + " elements violate the schema; first ones:\n"
+                    + String.join("\n", violations));
+            }
+            return this;
+        }
+
+        private static final class Builder {
+            private final int sampleSize;
+            private final List<JsonNode> sample = new ArrayList<>();
+            private final List<String> violations = new ArrayList<>();
+            private long count;
+            private long invalid;
+            private int pages;
+
+            Builder(int sampleSize) {
+                this.sampleSize = sampleSize;
+            }
+
+            // reservoir sampling keeps a uniform sample of any number of elements
+            void add(JsonNode element) {
+                if (sample.size() < sampleSize) {
+                    sample.add(element);
+                } else {
+                    long slot = ThreadLocalRandom.current().nextLong(count + 1);
+                    if (slot < sampleSize) {
+                        sample.set((int) slot, element);
+                    }
+                }
+                count++;
+            }
+
+            void invalid(JsonNode element, ValidationReport report) {
+                invalid++;
+                if (violations.size() < MAX_VIOLATIONS_KEPT) {
+                    violations.add("[" + count + "] " + element + ": " + report.getMessages().stream()
+                        .map(ValidationReport.Message::getMessage).collect(Collectors.joining("; ")));
+                }
+            }
+
+            Result build() {
+                return new Result(count, pages, List.copyOf(sample), invalid, List.copyOf(violations));
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.util;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+
+/**
+ * A group of stubs on the shared {@link StubServer}. Every stub only matches requests that carry
+ * this namespace's header, which {@link #requestSpecification()} adds for you.
+ */
+public final class StubNamespace {
+
+    private static final String METADATA_KEY = "namespace";
+
+    private final String name;
+
+    StubNamespace(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public StubMapping stubFor(MappingBuilder mapping) {
+        return StubServer.get().stubFor(mapping
+            .withHeader(StubServer.NAMESPACE_HEADER, equalTo(name))
+            .withMetadata(Map.of(METADATA_KEY, name)));
+    }
+
+    /**
+     * Serves {@code /api/customers} from this namespace's {@link CustomerApiSimulator} store and
+     * returns the store for seeding. Registered at low priority, so a more specific stub in the
+     * same namespace (a fault, a canned body) still wins.
+     */
+    public CustomerApiSimulator.Customers simulateCustomerApi() {
+        stubFor(any(urlPathMatching("/api/customers(/[^/]+)?"))
+            .atPriority(10)
+            .willReturn(aResponse().withTransformers(CustomerApiSimulator.NAME)));
+        return CustomerApiSimulator.customers(name);
+    }
+
+    /**
+     * Registers the mappings captured by {@link RecordingFilter} in this namespace, ahead of any
+     * hand-written stubs, and returns how many were loaded. Set {@code stub.replay=false} to ignore
+     * recordings, or {@code stub.replay.timing=false} to replay payloads without the recorded delays.
+     */
+    public int replayRecorded() {
+        if (!Config.getBoolean("stub.replay", true)) {
+            return 0;
+        }
+        boolean timing = Config.getBoolean("stub.replay.timing", true);
+        List<ObjectNode> mappings = RecordingFilter.recordedMappings();
+        for (ObjectNode recorded : mappings) {
+            ObjectNode mapping = recorded.deepCopy();
+            ObjectNode request = (ObjectNode) mapping.get("request");
+            // keep the recorded header matchers (Authorization) and add the namespace to them
+            ObjectNode headers = request.has("headers") ? (ObjectNode) request.get("headers") : request.putObject("headers");
+            headers.putObject(StubServer.NAMESPACE_HEADER).put("equalTo", name);
+            (mapping.has("metadata") ? (ObjectNode) mapping.get("metadata") : mapping.putObject("metadata"))
+                .put(METADATA_KEY, name);
+            mapping.put("priority", 1);
+            if (!timing) {
+                ((ObjectNode) mapping.get("response")).remove(List.of("delayDistribution", "fixedDelayMilliseconds"));
+            }
+            StubServer.get().addStubMapping(StubMapping.buildFrom(mapping.toString()));
+        }
+        return mappings.size();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + StubServer.get().port();
+    }
+
+    public RequestSpecification requestSpecification() {
+        return Api.builder(baseUrl())
+            .addHeader(StubServer.NAMESPACE_HEADER, name)
+            .build();
+    }
+
+    /**
+     * Drops every stub and simulated customer in this namespace, leaving the server running for other classes.
+     */
+    public void reset() {
+        CustomerApiSimulator.clear(name);
+        if (StubServer.isRunning()) {
+            StubServer.get().removeStubsByMetadata(matchingJsonPath("$." + METADATA_KEY, equalTo(name)));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.util;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Latency and fault injection for every stubbed endpoint, so offline runs exercise client
+ * timeouts and retries. Profiles are named in {@code config.properties} and selected with
+ * {@code stub.profile}:
+ *
+ * <pre>
+ * stub.profile.slow-network.latency=p50:20ms,p99:400ms
+ * stub.profile.slow-network.errorRate=1%
+ * stub.profile.slow-network.errorStatus=503
+ * stub.profile.slow-network.connectionReset=0.1%
+ * </pre>
+ *
+ * <p>Latency follows a log-normal distribution fitted to the given percentiles ({@code p50} plus
+ * one of {@code p90}, {@code p95}, {@code p99}, {@code p999}). Each response's dice are derived
+ * from {@code stub.seed}, the namespace, the method, the path template (generated ids become
+ * {@code {id}}, the query is dropped) and how often that was seen, so a class replays the same
+ * delays and faults for the same seed even when other classes run in parallel.
+ */
+public final class StubProfile extends ResponseDefinitionTransformer {
+
+    static final String NAME = "stub-profile";
+
+    private static final Map<String, Double> Z_SCORES = Map.of(
+        "p90", 1.2816, "p95", 1.6449, "p99", 2.3263, "p999", 3.0902);
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+        "(?<=/)(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(?=/|$)");
+
+    private final String profile;
+    private final long seed;
+    private final double mu;
+    private final double sigma;
+    private final double errorRate;
+    private final int errorStatus;
+    private final double resetRate;
+    private final Map<String, AtomicLong> seen = new ConcurrentHashMap<>();
+
+    StubProfile(String profile, long seed, String latency, double errorRate, int errorStatus, double resetRate) {
+        this.profile = profile;
+        this.seed = seed;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.resetRate = resetRate;
+        double[] fit = fitLogNormal(latency);
+        this.mu = fit[0];
+        this.sigma = fit[1];
+    }
+
+    /**
+     * The profile named by {@code stub.profile}, or {@code null} when none is selected.
+     */
+    static StubProfile fromConfig() {
+        String name = Config.profile("stub").orElse(null);
+        if (name == null) {
+            return null;
+        }
+        String prefix = "stub.profile." + name + ".";
+        String latency = Config.get(prefix + "latency", "");
+        String errorRate = Config.get(prefix + "errorRate", "0");
+        String resetRate = Config.get(prefix + "connectionReset", "0");
+        if (latency.isEmpty() && parseRate(errorRate) == 0 && parseRate(resetRate) == 0) {
+            throw new IllegalStateException("stub.profile=" + name + " but no " + prefix + "* keys are configured");
+        }
+        String configuredSeed = Config.get("stub.seed", "");
+        long seed = configuredSeed.isEmpty() ? System.nanoTime() : Long.parseLong(configuredSeed);
+        StubProfile stubProfile = new StubProfile(name, seed, latency, parseRate(errorRate),
+            Config.getInt(prefix + "errorStatus", 503), parseRate(resetRate));
+        System.out.println(stubProfile);
+        return stubProfile;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                        FileSource files, Parameters parameters) {
+        String key = request.getHeader(StubServer.NAMESPACE_HEADER) + " " + request.getMethod() + " " + pathTemplate(request.getUrl());
+        long occurrence = seen.computeIfAbsent(key, k -> new AtomicLong()).getAndIncrement();
+        SplittableRandom random = new SplittableRandom(seed ^ (31L * key.hashCode()) ^ (occurrence * 0x9E3779B97F4A7C15L));
+
+        ResponseDefinitionBuilder response = ResponseDefinitionBuilder.like(responseDefinition).but();
+        double roll = random.nextDouble();
+        if (roll < resetRate) {
+            return response.withFault(Fault.CONNECTION_RESET_BY_PEER).build();
+        }
+        if (roll < resetRate + errorRate) {
+            response.withStatus(errorStatus)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"timestamp\":\"" + Instant.now() + "\",\"message\":\"Injected failure\",\"details\":\"stub.profile="
+                    + profile + "\"}");
+        }
+        if (!Double.isNaN(mu)) {
+            int delay = (int) Math.round(Math.exp(mu + sigma * gaussian(random)));
+            Integer existing = responseDefinition.getFixedDelayMilliseconds();
+            response.withFixedDelay(existing == null ? delay : existing + delay);
+        }
+        return response.build();
+    }
+
+    @Override
+    public String toString() {
+        String latency = Double.isNaN(mu) ? "none"
+            : String.format("log-normal p50 %.0f ms / p99 %.0f ms", Math.exp(mu), Math.exp(mu + Z_SCORES.get("p99") * sigma));
+        return String.format("Stub profile '%s' (stub.seed=%d): latency %s, errors %.2f%% (HTTP %d), resets %.2f%%",
+            profile, seed, latency, errorRate * 100, errorStatus, resetRate * 100);
+    }
+
+    /**
+     * {@code /api/customers/3f2c...?x=1} becomes {@code /api/customers/{id}}: ids the API generated
+     * differ on every run and must not change the dice.
+     */
+    static String pathTemplate(String url) {
+        int query = url.indexOf('?');
+        return ID_SEGMENT.matcher(query < 0 ? url : url.substring(0, query)).replaceAll("{id}");
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    /**
+     * Returns {mu, sigma} of ln(latency ms) for e.g. {@code p50:20ms,p99:400ms}; NaN mu for no latency.
+     */
+    static double[] fitLogNormal(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return new double[] {Double.NaN, 0};
+        }
+        Map<String, Double> quantiles = new TreeMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":", 2);
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Expected <percentile>:<duration> in latency spec '" + spec + "'");
+            }
+            quantiles.put(kv[0].trim().toLowerCase(), parseMillis(kv[1].trim()));
+        }
+        Double p50 = quantiles.remove("p50");
+        if (p50 == null || p50 <= 0) {
+            throw new IllegalArgumentException("Latency spec '" + spec + "' needs a positive p50");
+        }
+        double mu = Math.log(p50);
+        if (quantiles.isEmpty()) {
+            return new double[] {mu, 0};
+        }
+        // fit the spread to the highest percentile given
+        String tail = null;
+        for (String percentile : quantiles.keySet()) {
+            if (tail == null || zScore(percentile, spec) > zScore(tail, spec)) {
+                tail = percentile;
+            }
+        }
+        double tailMs = quantiles.get(tail);
+        if (tailMs < p50) {
+            throw new IllegalArgumentException("Latency spec '" + spec + "': " + tail + " is below p50");
+        }
+        return new double[] {mu, Math.log(tailMs / p50) / zScore(tail, spec)};
+    }
+
+    private static double zScore(String percentile, String spec) {
+        Double z = Z_SCORES.get(percentile);
+        if (z == null) {
+            throw new IllegalArgumentException("Unsupported percentile '" + percentile + "' in latency spec '"
+                + spec + "'; use p50 with p90, p95, p99 or p999");
+        }
+        return z;
+    }
+
+    private static double parseMillis(String value) {
+        if (value.endsWith("ms")) {
+            return Double.parseDouble(value.substring(0, value.length() - 2));
+        }
+        if (value.endsWith("s")) {
+            return Double.parseDouble(value.substring(0, value.length() - 1)) * 1000;
+        }
+        return Double.parseDouble(value);
+    }
+
+    /**
+     * {@code 1%} or {@code 0.01}.
+     */
+    static double parseRate(String value) {
+        String v = value.trim();
+        double rate = v.endsWith("%") ? Double.parseDouble(v.substring(0, v.length() - 1)) / 100 : Double.parseDouble(v);
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("Rate must be between 0 and 1 (or 0% and 100%), was " + value);
+        }
+        return rate;
+    }
+}
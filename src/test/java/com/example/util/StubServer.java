@@ -0,0 +1,56 @@
+package com.example.util;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.responsetemplating.ResponseTemplateTransformer;
+
+/**
+ * Single WireMock server shared by every test class in the JVM.
+ * Test classes never talk to it directly; they register stubs through a {@link StubNamespace}
+ * so that two classes stubbing the same path cannot see each other's responses.
+ */
+public final class StubServer {
+
+    public static final String NAMESPACE_HEADER = "X-Stub-Namespace";
+
+    private static WireMockServer server;
+
+    private StubServer() {}
+
+    public static synchronized WireMockServer get() {
+        if (server == null) {
+            long start = System.nanoTime();
+            WireMockConfiguration options = WireMockConfiguration.options()
+                .dynamicPort()
+                .disableRequestJournal()
+                .containerThreads(Config.getInt("stub.containerThreads", 64))
+                .extensions(new ResponseTemplateTransformer(false), new CustomerApiSimulator());
+            StubProfile profile = StubProfile.fromConfig();
+            if (profile != null) {
+                // registered last so it sees the final response of every other transformer
+                options.extensions(profile);
+            }
+            WireMockServer wm = new WireMockServer(options);
+            wm.start();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("Started shared WireMock at http://localhost:" + wm.port() + " in " + elapsedMs + " ms");
+            server = wm;
+        }
+        return server;
+    }
+
+    public static synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    public static StubNamespace namespace(String name) {
+        return new StubNamespace(name);
+    }
+
+    static synchronized void stop() {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.util;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Hands each test class its own {@link StubNamespace} (named after the class) and stops the shared
+ * {@link StubServer} once the whole run is over. The server itself is only started when a class
+ * actually registers a stub, so runs against a real baseUrl never pay for it.
+ */
+public class StubServerExtension implements BeforeAllCallback, AfterAllCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace STORE = ExtensionContext.Namespace.create(StubServerExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL).getOrComputeIfAbsent(
+            StubServer.class,
+            key -> (ExtensionContext.Store.CloseableResource) StubServer::stop,
+            ExtensionContext.Store.CloseableResource.class);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        StubNamespace namespace = context.getStore(STORE).get(StubNamespace.class, StubNamespace.class);
+        if (namespace != null) {
+            namespace.reset();
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == StubNamespace.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(STORE).getOrComputeIfAbsent(
+            StubNamespace.class,
+            key -> StubServer.namespace(extensionContext.getRequiredTestClass().getSimpleName()),
+            StubNamespace.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.util;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Opens Swagger UI and returns as soon as it is actually usable instead of sleeping: the spec
+ * request has completed, the UI container is rendered, and the number of {@code .opblock}
+ * operations has stopped changing for {@code ui.ready.quietMs} (default 250 ms).
+ *
+ * <p>The spec request is the one whose path equals {@code ui.specPath} (default
+ * {@code /v3/api-docs}); every phase shares the {@code ui.ready.timeoutMs} budget (default 15000 ms).
+ */
+public final class SwaggerUiReadiness {
+
+    // true once the operation count is non-zero and has not changed for quietMs
+    private static final String OPBLOCKS_STABLE = """
+        quietMs => {
+            const count = document.querySelectorAll('.opblock').length;
+            const now = performance.now();
+            const seen = window.__qaOpblocks || (window.__qaOpblocks = { count: -1, since: now });
+            if (count !== seen.count) {
+                seen.count = count;
+                seen.since = now;
+                return false;
+            }
+            return count > 0 && now - seen.since >= quietMs ? count : false;
+        }""";
+
+    private SwaggerUiReadiness() {}
+
+    /**
+     * Navigates {@code page} to {@code url} and blocks until Swagger UI is ready.
+     */
+    public static Timings open(Page page, String url) {
+        String specPath = Config.get("ui.specPath", "/v3/api-docs");
+        Duration timeout = Config.getDuration("ui.ready.timeoutMs", Duration.ofSeconds(15));
+        long quietMs = Config.getDuration("ui.ready.quietMs", Duration.ofMillis(250)).toMillis();
+
+        long start = System.nanoTime();
+        Response spec = page.waitForResponse(
+            // exact path: a prefix match would also take /v3/api-docs/swagger-config, which loads first
+            response -> specPath.equals(URI.create(response.url()).getPath()),
+            new Page.WaitForResponseOptions().setTimeout(timeout.toMillis()),
+            () -> page.navigate(url));
+        spec.finished();
+        if (!spec.ok()) {
+            throw new IllegalStateException("Swagger UI spec request " + spec.url() + " returned " + spec.status());
+        }
+        long specLoaded = System.nanoTime();
+
+        page.waitForSelector(".swagger-ui", new Page.WaitForSelectorOptions().setTimeout(timeout.toMillis()));
+        long rendered = System.nanoTime();
+
+        Object operations = page.waitForFunction(OPBLOCKS_STABLE, quietMs,
+            new Page.WaitForFunctionOptions().setTimeout(timeout.toMillis())).jsonValue();
+        long stable = System.nanoTime();
+
+        return new Timings(millis(start, specLoaded), millis(specLoaded, rendered), millis(rendered, stable),
+            ((Number) operations).intValue());
+    }
+
+    private static double millis(long fromNanos, long toNanos) {
+        return (toNanos - fromNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Time spent in each readiness phase; the last phase includes the quiet window.
+     */
+    public record Timings(double specMs, double renderMs, double stableMs, int operations) {
+
+        public double totalMs() {
+            return specMs + renderMs + stableMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Swagger UI ready in %.0f ms (spec %.0f ms, render %.0f ms, %d operations stable %.0f ms)",
+                totalMs(), specMs, renderMs, operations, stableMs);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.util;
+
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Test data that stays unique under parallel load. Every generated customer takes the next value
+ * of one run-wide counter, so emails ({@code <runId>-<n>@example.test}) never collide within a run,
+ * and the run id keeps them apart across runs. Customer fields are derived from the seed and the
+ * counter alone, so customer {@code n} is the same whichever thread creates it; free-form strings
+ * come from a per-thread {@link SplittableRandom}.
+ * <p>
+ * {@code data.seed} makes a run reproducible (the run id is then derived from it as well, so pair it
+ * with {@code data.runId} when the API under test keeps data between runs).
+ */
+public final class TestData {
+
+    private static final String ALPHANUM = "abcdefghijklmnopqrstuvwxyz0123456789";
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final long SEED;
+    private static final String RUN_ID;
+    private static final AtomicLong COUNTER = new AtomicLong();
+    private static final AtomicLong THREADS = new AtomicLong();
+
+    static {
+        String seed = Config.get("data.seed", null);
+        SEED = seed != null ? Long.parseLong(seed) : new SecureRandom().nextLong();
+        RUN_ID = Config.get("data.runId", Long.toString(mix(SEED) >>> 24, 36));
+    }
+
+    private static final ThreadLocal<SplittableRandom> RNG =
+        ThreadLocal.withInitial(() -> new SplittableRandom(mix(SEED + THREADS.incrementAndGet() * GOLDEN_GAMMA)));
+
+    private TestData() {}
+
+    public record NewCustomer(String name, String email, String phone) {
+
+        /**
+         * A mutable request body; tests tweak single fields before posting.
+         */
+        public Map<String, Object> asMap() {
+            Map<String, Object> body = new HashMap<>(4);
+            body.put("name", name);
+            body.put("email", email);
+            body.put("phone", phone);
+            return body;
+        }
+    }
+
+    public static String runId() {
+        return RUN_ID;
+    }
+
+    public static NewCustomer customer() {
+        return customer(COUNTER.getAndIncrement());
+    }
+
+    /**
+     * {@code n} distinct customers; the ids are reserved with a single counter update and each
+     * customer is built only when the stream reaches it.
+     */
+    public static Stream<NewCustomer> customers(int n) {
+        long first = COUNTER.getAndAdd(n);
+        return LongStream.range(first, first + n).mapToObj(TestData::customer);
+    }
+
+    public static String email() {
+        return email(COUNTER.getAndIncrement());
+    }
+
+    public static String phone() {
+        return phone(mix(SEED ^ COUNTER.getAndIncrement() * GOLDEN_GAMMA));
+    }
+
+    public static String string(int length) {
+        SplittableRandom rng = RNG.get();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHANUM.charAt(rng.nextInt(ALPHANUM.length()));
+        }
+        return new String(chars);
+    }
+
+    private static NewCustomer customer(long n) {
+        long bits = mix(SEED ^ n * GOLDEN_GAMMA);
+        return new NewCustomer("Customer " + Long.toString(bits >>> 34, 36), email(n), phone(bits));
+    }
+
+    private static String email(long n) {
+        return RUN_ID + "-" + n + "@example.test";
+    }
+
+    // "+1" and ten digits, matching the API's ^\+?[1-9]\d{9,14}$ phone rule
+    private static String phone(long bits) {
+        long digits = Math.floorMod(bits, 10_000_000_000L);
+        String tail = Long.toString(digits);
+        return "+1" + "0".repeat(10 - tail.length()) + tail;
+    }
+
+    // SplitMix64 finaliser: a cheap, well-distributed hash of the seed and counter
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
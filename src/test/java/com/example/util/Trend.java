@@ -0,0 +1,110 @@
+package com.example.util;
+
+import java.util.Arrays;
+
+/**
+ * Trend of a series sampled over a long run, e.g. per-window p99 or a metric polled every few
+ * seconds. The Mann-Kendall test answers "does it keep going up" and the Theil-Sen slope "by how
+ * much"; both work on ranks and pairwise slopes, so one GC pause or one slow window neither hides
+ * nor fakes a trend.
+ */
+public final class Trend {
+
+    private Trend() {}
+
+    /**
+     * @param n     points in the series
+     * @param p     one-sided Mann-Kendall p-value for an increasing trend (1 when {@code n < 3})
+     * @param slope Theil-Sen slope in value units per unit of {@code t}
+     * @param start fitted value at the first point
+     * @param end   fitted value at the last point
+     */
+    public record Result(int n, double p, double slope, double start, double end) {
+
+        /**
+         * Fitted growth over the series as a fraction of its fitted start.
+         */
+        public double relativeChange() {
+            if (start > 0) {
+                return (end - start) / start;
+            }
+            return end > start ? Double.POSITIVE_INFINITY : 0;
+        }
+
+        public boolean increasing(double alpha, double minRelativeChange) {
+            return p < alpha && relativeChange() > minRelativeChange;
+        }
+    }
+
+    /**
+     * {@code y[i]} observed at {@code t[i]}; {@code t} must be ascending.
+     */
+    public static Result of(double[] t, double[] y) {
+        int n = y.length;
+        if (n == 0) {
+            return new Result(0, 1, 0, 0, 0);
+        }
+        double slope = theilSenSlope(t, y);
+        double[] intercepts = new double[n];
+        for (int i = 0; i < n; i++) {
+            intercepts[i] = y[i] - slope * t[i];
+        }
+        double intercept = median(intercepts);
+        double p = n < 3 ? 1 : 1 - PerfGate.normalCdf(mannKendallZ(y));
+        return new Result(n, p, slope, intercept + slope * t[0], intercept + slope * t[n - 1]);
+    }
+
+    /**
+     * Normal-approximation z score of the Mann-Kendall S statistic, with tie and continuity correction.
+     */
+    static double mannKendallZ(double[] y) {
+        int n = y.length;
+        long s = 0;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                s += Double.compare(y[j], y[i]);
+            }
+        }
+        double[] sorted = y.clone();
+        Arrays.sort(sorted);
+        double tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && sorted[j + 1] == sorted[i]) {
+                j++;
+            }
+            double ties = j - i + 1;
+            tieTerm += ties * (ties - 1) * (2 * ties + 5);
+            i = j + 1;
+        }
+        double variance = (n * (n - 1.0) * (2 * n + 5) - tieTerm) / 18;
+        if (variance <= 0 || s == 0) {
+            return 0;
+        }
+        return (s > 0 ? s - 1 : s + 1) / Math.sqrt(variance);
+    }
+
+    /**
+     * Median of the slopes between every pair of points with distinct {@code t}.
+     */
+    static double theilSenSlope(double[] t, double[] y) {
+        int n = y.length;
+        double[] slopes = new double[n * (n - 1) / 2];
+        int k = 0;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (t[j] != t[i]) {
+                    slopes[k++] = (y[j] - y[i]) / (t[j] - t[i]);
+                }
+            }
+        }
+        return k == 0 ? 0 : median(Arrays.copyOf(slopes, k));
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+}